@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Load test comparing the throughput and latency of placing and paying orders with the application serving requests
+ * on platform threads compared to virtual threads (see {@link ExecutionConfiguration}). The application is started on
+ * a random port and hammered by more concurrent clients than Tomcat's default pool has threads. The payment blocks the
+ * request for the simulated latency of the card network, which is where a thread per request pays off. Look at the
+ * {@code p0.99} line of the {@code SampleTime} results for the tail latency. Run with
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ExecutionLoadBenchmarks"}. The {@code virtual} mode
+ * requires the benchmarks to be run on Java 21 or newer.
+ *
+ * @author Oliver Drotbohm
+ */
+@Fork(1)
+@Threads(400)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ExecutionLoadBenchmarks {
+
+	private static final String CREDIT_CARD = "{ \"number\" : \"1234123412341234\" }";
+
+	@Param({ "platform", "virtual" }) //
+	String execution;
+
+	@Param({ "50ms" }) //
+	String gatewayLatency;
+
+	ConfigurableApplicationContext context;
+	HttpClient client;
+	URI orders;
+	String order;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		this.context = new SpringApplicationBuilder(Restbucks.class).run( //
+				"--server.port=0", //
+				"--restbucks.execution=" + execution, //
+				"--restbucks.payment.simulated-latency=" + gatewayLatency, //
+				"--restbucks.payment.max-concurrent-authorizations=10000", //
+				"--logging.level.root=WARN");
+
+		var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		var base = URI.create("http://localhost:" + port);
+
+		this.client = HttpClient.newBuilder()
+				.executor(Executors.newCachedThreadPool())
+				.build();
+		this.orders = base.resolve("/orders");
+
+		var drinks = send(HttpRequest.newBuilder(base.resolve("/drinks"))
+				.header("Accept", "application/hal+json")
+				.GET(), 200);
+
+		var drink = new ObjectMapper().readTree(drinks.body())
+				.at("/_embedded/drinks/0/_links/self/href").asText();
+
+		this.order = "{ \"location\" : \"TAKE_AWAY\", \"drinks\" : [ \"" + drink + "\" ] }";
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int placeAndPayOrder() throws Exception {
+
+		var placed = send(HttpRequest.newBuilder(orders)
+				.header("Content-Type", "application/json")
+				.POST(BodyPublishers.ofString(order)), 201);
+
+		var location = placed.headers().firstValue("Location").orElseThrow();
+
+		var paid = send(HttpRequest.newBuilder(URI.create(location + "/payment"))
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/hal+json")
+				.PUT(BodyPublishers.ofString(CREDIT_CARD)), 201);
+
+		return paid.statusCode();
+	}
+
+	private HttpResponse<String> send(HttpRequest.Builder request, int expectedStatus)
+			throws IOException, InterruptedException {
+
+		var response = client.send(request.build(), BodyHandlers.ofString());
+
+		if (response.statusCode() != expectedStatus) {
+			throw new IllegalStateException("Expected status %s but got %s for %s!".formatted(expectedStatus,
+					response.statusCode(), response.request().uri()));
+		}
+
+		return response;
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks;
+
+import static org.springsource.restbucks.core.Currencies.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryFormats;
+
+import org.javamoney.moneta.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springsource.restbucks.JacksonCustomizations.MoneyModule;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Benchmarks serializing a list of orders with their line item prices using the {@link MoneyModule} compared to
+ * looking up the {@link javax.money.format.MonetaryAmountFormat} for every value as done before formats were cached.
+ *
+ * @author Oliver Drotbohm
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class MoneySerializationBenchmarks {
+
+	@Param({ "", "de-DE" }) //
+	String locale;
+
+	List<Map<String, Object>> orders;
+	ObjectMapper uncached, cached;
+
+	@Setup
+	@SuppressWarnings("serial")
+	public void setUp() {
+
+		LocaleContextHolder.setDefaultLocale(Locale.forLanguageTag(locale));
+
+		var random = ThreadLocalRandom.current();
+
+		this.orders = IntStream.range(0, 20).<Map<String, Object>> mapToObj(__ -> Map.of( //
+				"price", Money.ofMinor(EURO, random.nextLong(300, 3000)), //
+				"lineItems", IntStream.range(0, 3) //
+						.mapToObj(___ -> lineItem(Money.ofMinor(EURO, random.nextLong(150, 600)))) //
+						.toList()))
+				.toList();
+
+		this.cached = new ObjectMapper().registerModule(new MoneyModule());
+		this.uncached = new ObjectMapper().registerModule(new SimpleModule() {
+			{
+				addSerializer(MonetaryAmount.class, new UncachedMonetaryAmountSerializer());
+			}
+		});
+	}
+
+	@Benchmark
+	public String uncachedFormats() throws JsonProcessingException {
+		return uncached.writeValueAsString(orders);
+	}
+
+	@Benchmark
+	public String cachedFormats() throws JsonProcessingException {
+		return cached.writeValueAsString(orders);
+	}
+
+	private static Map<String, Object> lineItem(MonetaryAmount price) {
+		return Map.of("name", "Cappuchino", "price", price);
+	}
+
+	@SuppressWarnings("serial")
+	static class UncachedMonetaryAmountSerializer extends StdSerializer<MonetaryAmount> {
+
+		UncachedMonetaryAmountSerializer() {
+			super(MonetaryAmount.class);
+		}
+
+		@Override
+		public void serialize(MonetaryAmount value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+			gen.writeString(MonetaryFormats.getAmountFormat(LocaleContextHolder.getLocale()).format(value));
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import static org.springsource.restbucks.core.Currencies.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks calculating the total of an order's line items using {@link Money} compared to {@link Amount}. Run with
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="AmountBenchmarks -prof gc"} to also see the allocation
+ * rate.
+ *
+ * @author Oliver Drotbohm
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AmountBenchmarks {
+
+	@Param({ "3", "30" }) //
+	int lineItems;
+
+	List<MonetaryAmount> moneyPrices;
+	List<Amount> amountPrices;
+	int[] quantities;
+
+	@Setup
+	public void setUp() {
+
+		var random = ThreadLocalRandom.current();
+
+		this.moneyPrices = IntStream.range(0, lineItems)
+				.<MonetaryAmount> mapToObj(__ -> Money.ofMinor(EURO, random.nextLong(150, 600)))
+				.toList();
+		this.amountPrices = moneyPrices.stream().map(Amount::of).toList();
+		this.quantities = IntStream.range(0, lineItems).map(__ -> random.nextInt(1, 4)).toArray();
+	}
+
+	@Benchmark
+	public MonetaryAmount money() {
+
+		MonetaryAmount total = Money.of(0, EURO);
+
+		for (int i = 0; i < lineItems; i++) {
+			total = total.add(moneyPrices.get(i).multiply(quantities[i]));
+		}
+
+		return total;
+	}
+
+	@Benchmark
+	public Amount amount() {
+
+		var total = Amount.zero(EURO);
+
+		for (int i = 0; i < lineItems; i++) {
+			total = total.add(amountPrices.get(i).multiply(quantities[i]));
+		}
+
+		return total;
+	}
+
+	@Benchmark
+	public MonetaryAmount amountConvertedAtEdge() {
+		return amount().toMonetaryAmount();
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks inserting rows keyed by random compared to time-ordered UUIDs into a table with a primary key index, with
+ * the identifiers stored in their {@link String} form or natively in a {@code UUID} column as mapped for aggregates and
+ * entities. Every iteration fills a fresh table with the configured number of rows, so that the cost of inserting into
+ * a growing index is included. Run with
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="IdentifierInsertBenchmarks -p rows=10000000"} to measure
+ * tables of 10 million rows, which requires a heap large enough to hold them as the database is in-memory.
+ *
+ * @author Oliver Drotbohm
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class IdentifierInsertBenchmarks {
+
+	private static final int BATCH_SIZE = 1_000;
+
+	@Param({ "1000000" }) //
+	int rows;
+
+	@Param({ "random", "time-ordered" }) //
+	String identifiers;
+
+	@Param({ "varchar", "uuid" }) //
+	String layout;
+
+	Supplier<UUID> generator;
+	Connection connection;
+
+	@Setup(Level.Iteration)
+	public void setUp() throws SQLException {
+
+		this.generator = "random".equals(identifiers) ? UUID::randomUUID : new TimeOrderedUuidGenerator();
+		this.connection = DriverManager.getConnection("jdbc:h2:mem:identifiers");
+
+		try (var statement = connection.createStatement()) {
+			statement.execute(String.format("create table rborder (id %s primary key, ordered_date timestamp)",
+					"varchar".equals(layout) ? "varchar(36)" : "uuid"));
+		}
+
+		connection.setAutoCommit(false);
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	public int insert() throws SQLException {
+
+		try (var statement = connection.prepareStatement("insert into rborder values (?, current_timestamp)")) {
+
+			for (int i = 1; i <= rows; i++) {
+
+				var id = generator.get();
+
+				if ("varchar".equals(layout)) {
+					statement.setString(1, id.toString());
+				} else {
+					statement.setObject(1, id);
+				}
+
+				statement.addBatch();
+
+				if (i % BATCH_SIZE == 0) {
+					statement.executeBatch();
+					connection.commit();
+				}
+			}
+
+			statement.executeBatch();
+			connection.commit();
+		}
+
+		return rows;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import static org.springsource.restbucks.core.Currencies.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.javamoney.moneta.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springsource.restbucks.order.Milk;
+import org.springsource.restbucks.order.Size;
+
+/**
+ * Benchmarks looking up {@link Drink}s by parts of their name using the {@link DrinkNameIndex} compared to scanning
+ * all names. Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="DrinkNameIndexBenchmarks"}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DrinkNameIndexBenchmarks {
+
+	private static final List<String> KINDS = List.of("Latte", "Cappuchino", "Java Chip", "Mocha", "Flat White");
+
+	@Param({ "10", "10000" }) //
+	int drinks;
+
+	@Param({ "Chip 7", "zzz" }) //
+	String query;
+
+	List<Drink> catalog;
+	DrinkNameIndex index;
+
+	@Setup
+	public void setUp() {
+
+		this.catalog = IntStream.range(0, drinks)
+				.mapToObj(it -> new Drink(KINDS.get(it % KINDS.size()) + " " + it, Milk.WHOLE, Size.LARGE,
+						Money.of(3.20, EURO)))
+				.toList();
+		this.index = new DrinkNameIndex(catalog);
+	}
+
+	@Benchmark
+	public List<Drink> scan() {
+
+		var normalized = query.toLowerCase(Locale.ROOT);
+
+		return catalog.stream()
+				.filter(it -> it.getName().toLowerCase(Locale.ROOT).contains(normalized))
+				.toList();
+	}
+
+	@Benchmark
+	public List<Drink> index() {
+		return index.findByNameContaining(query);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import static org.springsource.restbucks.core.Currencies.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.javamoney.moneta.Money;
+import org.jmolecules.jackson.JMoleculesModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule.HalHandlerInstantiator;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springsource.restbucks.JacksonTestUtils;
+import org.springsource.restbucks.drinks.Drink;
+import org.springsource.restbucks.order.Milk;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Size;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Benchmarks rendering the HAL representation of an {@link Order} through reflective serialization of its
+ * {@link EntityModel} compared to the {@link PrecompiledOrderModel}. The {@link ObjectMapper} is set up like the one
+ * used by the application, minus Spring Data REST's customizations, which only add to the cost of the former.
+ *
+ * @author Oliver Drotbohm
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OrderSerializationBenchmarks {
+
+	ObjectMapper mapper;
+	EntityModel<Order> model;
+	PrecompiledOrderModel precompiled;
+
+	@Setup
+	public void setUp() {
+
+		this.mapper = new ObjectMapper();
+
+		mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		mapper.registerModule(new JavaTimeModule());
+		mapper.registerModule(new JMoleculesModule());
+		mapper.registerModule(new Jackson2HalModule());
+		mapper.registerModules(JacksonTestUtils.getModules(new OrderConfiguration().getMixins()));
+		mapper.setHandlerInstantiator(new HalHandlerInstantiator(new DelegatingLinkRelationProvider(),
+				CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+		var order = new Order() //
+				.add(new Drink("Cappuchino", Milk.WHOLE, Size.LARGE, Money.of(3.20, EURO))) //
+				.add(new Drink("Java Chip", Milk.SEMI, Size.SMALL, Money.of(4.20, EURO))) //
+				.add(new Drink("Cappuchino", Milk.WHOLE, Size.LARGE, Money.of(3.20, EURO)));
+
+		var self = Link.of("http://localhost:8080/orders/" + order.getId().getId());
+
+		this.model = EntityModel.of(order, self, self.withRel("order"), self.withRel("cancel"), self.withRel("update"),
+				Link.of(self.getHref() + "/payment", "restbucks:payment"));
+		this.precompiled = new PrecompiledOrderModel(model);
+	}
+
+	@Benchmark
+	public String reflective() throws JsonProcessingException {
+		return mapper.writeValueAsString(model);
+	}
+
+	@Benchmark
+	public String precompiled() throws JsonProcessingException {
+		return mapper.writeValueAsString(precompiled);
+	}
+}
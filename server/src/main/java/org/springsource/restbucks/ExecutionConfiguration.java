@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks;
+
+import java.util.concurrent.Executor;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springsource.restbucks.core.VirtualThreads;
+
+/**
+ * Switches the web tier and Spring Boot's {@code applicationTaskExecutor} to virtual threads if
+ * {@code restbucks.execution} is set to {@code virtual}. The default ({@code platform}) keeps Spring Boot's pooled
+ * platform threads. As most of the work done in request handlers is waiting for JDBC, a thread per task scales a lot
+ * further without having to tune pool sizes. The engine uses its own executor, which switches to virtual threads
+ * based on the same property.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "restbucks.execution", havingValue = "virtual")
+class ExecutionConfiguration {
+
+	/**
+	 * Replaces Spring Boot's default {@code applicationTaskExecutor} used for asynchronous Spring MVC request
+	 * processing and to deliver order events to their subscribers.
+	 *
+	 * @return
+	 */
+	@Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("restbucks-async-"));
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(ProtocolHandler.class)
+	static class TomcatExecutionConfiguration {
+
+		/**
+		 * Makes Tomcat serve requests on virtual threads instead of its fixed platform thread pool.
+		 *
+		 * @return
+		 */
+		@Bean
+		TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+
+			Executor executor = VirtualThreads.newThreadPerTaskExecutor("restbucks-http-");
+
+			return handler -> handler.setExecutor(executor);
+		}
+	}
+}
@@ -26,7 +26,6 @@ import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import javax.money.MonetaryAmount;
-import javax.money.format.MonetaryFormats;
 
 import org.javamoney.moneta.Money;
 import org.springframework.context.annotation.Bean;
@@ -39,6 +38,7 @@ import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.mediatype.hal.forms.HalFormsConfiguration;
 import org.springframework.hateoas.mediatype.hal.forms.HalFormsOptions;
+import org.springsource.restbucks.core.MonetaryAmountFormats;
 import org.springsource.restbucks.drinks.DrinksOptions;
 import org.springsource.restbucks.order.Location;
 import org.springsource.restbucks.order.web.LocationAndDrinks;
@@ -63,7 +63,7 @@ class JacksonCustomizations {
 	@Bean
 	HalFormsConfiguration halFormsConfiguration() {
 
-		Supplier<Link> drinkOptionsLink = () -> linkTo(methodOn(DrinksOptions.class).getOptions(Optional.empty()))
+		Supplier<Link> drinkOptionsLink = () -> linkTo(methodOn(DrinksOptions.class).getOptions(Optional.empty(), null))
 				.withSelfRel()
 				.withType(MediaTypes.HAL_JSON_VALUE);
 
@@ -110,7 +110,8 @@ class JacksonCustomizations {
 		}
 
 		/**
-		 * A dedicated serializer to render {@link MonetaryAmount} instances as formatted {@link String}. Also implements
+		 * A dedicated serializer to render {@link MonetaryAmount} instances as formatted {@link String} using the
+		 * {@link MonetaryAmountFormats} cached for the current locale. Also implements
 		 * {@link JsonSchemaPropertyCustomizer} to expose the different rendering to the schema exposed by Spring Data REST.
 		 *
 		 * @author Oliver Gierke
@@ -145,7 +146,7 @@ class JacksonCustomizations {
 			public void serialize(MonetaryAmount value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
 
 				if (value != null) {
-					jgen.writeString(MonetaryFormats.getAmountFormat(LocaleContextHolder.getLocale()).format(value));
+					jgen.writeString(MonetaryAmountFormats.format(value, LocaleContextHolder.getLocale()));
 				} else {
 					jgen.writeNull();
 				}
@@ -187,7 +188,7 @@ class JacksonCustomizations {
 			 */
 			@Override
 			public Object createFromString(DeserializationContext context, String value) throws IOException {
-				return Money.parse(value, MonetaryFormats.getAmountFormat(LocaleContextHolder.getLocale()));
+				return MonetaryAmountFormats.parse(value, LocaleContextHolder.getLocale());
 			}
 		}
 	}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.money.Monetary;
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.core.Amount;
+import org.springsource.restbucks.core.Currencies;
+import org.springsource.restbucks.core.MonetaryAmountAttributeConverter;
+import org.springsource.restbucks.order.Order;
+
+/**
+ * Migrates prices stored in the legacy {@code price} text columns (e.g. {@code EUR 4.20}) into the numeric
+ * {@code price_minor_units} and {@code price_currency} columns {@link Amount}s are mapped to, and drops the legacy
+ * column afterwards. Backfills the total of {@link Order}s stored before it was persisted from their migrated line
+ * items. Runs after Hibernate updated the schema but before any of the application's components access the affected
+ * tables. Databases that never had the legacy columns are left untouched.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+class MonetaryAmountMigration implements InitializingBean {
+
+	private static final List<String> TABLES = List.of("DRINK", "LINE_ITEM");
+	private static final String LEGACY_COLUMN = "PRICE";
+	private static final int BATCH_SIZE = 100;
+
+	private final JdbcTemplate jdbc;
+	private final List<String> tables;
+	private final MonetaryAmountAttributeConverter converter;
+	private final @Nullable EntityManager em;
+	private final @Nullable TransactionTemplate transactions;
+
+	@Autowired
+	MonetaryAmountMigration(JdbcTemplate jdbc, EntityManager em, PlatformTransactionManager transactionManager) {
+
+		Assert.notNull(jdbc, "JdbcTemplate must not be null!");
+		Assert.notNull(em, "EntityManager must not be null!");
+		Assert.notNull(transactionManager, "PlatformTransactionManager must not be null!");
+
+		this.jdbc = jdbc;
+		this.tables = TABLES;
+		this.converter = new MonetaryAmountAttributeConverter();
+		this.em = em;
+		this.transactions = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Creates a new {@link MonetaryAmountMigration} only migrating the legacy prices of the given tables, without
+	 * backfilling {@link Order} totals.
+	 *
+	 * @param jdbc must not be {@literal null}.
+	 * @param tables must not be {@literal null}.
+	 */
+	MonetaryAmountMigration(JdbcTemplate jdbc, List<String> tables) {
+
+		Assert.notNull(jdbc, "JdbcTemplate must not be null!");
+		Assert.notNull(tables, "Tables must not be null!");
+
+		this.jdbc = jdbc;
+		this.tables = tables;
+		this.converter = new MonetaryAmountAttributeConverter();
+		this.em = null;
+		this.transactions = null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		migrate();
+	}
+
+	void migrate() {
+
+		tables.stream()
+				.filter(this::hasLegacyColumn)
+				.forEach(this::migrate);
+
+		if (em != null && transactions != null) {
+			transactions.executeWithoutResult(__ -> backfillOrderTotals(em));
+		}
+	}
+
+	private void migrate(String table) {
+
+		var prices = jdbc.query(
+				String.format("select id, %s from %s where %1$s is not null", LEGACY_COLUMN, table),
+				(rs, __) -> Map.entry(rs.getString(1), toAmount(rs.getString(2))));
+
+		jdbc.batchUpdate(
+				String.format("update %s set price_minor_units = ?, price_currency = ? where id = ?", table),
+				prices, BATCH_SIZE, (statement, price) -> {
+					statement.setLong(1, price.getValue().getMinorUnits());
+					statement.setString(2, price.getValue().getCurrency());
+					statement.setString(3, price.getKey());
+				});
+
+		jdbc.execute(String.format("alter table %s drop column %s", table, LEGACY_COLUMN));
+
+		LOG.info("Migrated {} legacy prices in table {}.", prices.size(), table);
+	}
+
+	/**
+	 * Stores the total of all {@link Order}s without one, calculated from their already migrated line items. Uses JPQL
+	 * so that we don't depend on how the line items are mapped to the database.
+	 *
+	 * @param em must not be {@literal null}.
+	 */
+	private static void backfillOrderTotals(EntityManager em) {
+
+		var orders = em.createQuery("select distinct o from Order o left join fetch o.lineItems "
+				+ "where o.total.minorUnits is null", Order.class)
+				.getResultList();
+
+		orders.forEach(it -> {
+
+			var total = getTotal(it);
+
+			em.createQuery("update Order o set o.total.minorUnits = :minorUnits, o.total.currency = :currency "
+					+ "where o.id = :id")
+					.setParameter("minorUnits", total.getMinorUnits())
+					.setParameter("currency", total.getCurrency())
+					.setParameter("id", it.getId())
+					.executeUpdate();
+		});
+
+		em.clear();
+
+		if (!orders.isEmpty()) {
+			LOG.info("Backfilled the total of {} orders.", orders.size());
+		}
+	}
+
+	private static Amount getTotal(Order order) {
+
+		var items = order.getLineItems();
+		var currency = items.isEmpty() ? Currencies.EURO : items.get(0).getPrice().getCurrency();
+
+		return items.stream()
+				.map(it -> Amount.of(it.getPrice()).multiply(it.getQuantity()))
+				.reduce(Amount.zero(currency), Amount::add);
+	}
+
+	private Amount toAmount(String source) {
+
+		var amount = converter.convertToEntityAttribute(source);
+
+		return Amount.of(amount.with(Monetary.getDefaultRounding()));
+	}
+
+	private boolean hasLegacyColumn(String table) {
+
+		return jdbc.execute((ConnectionCallback<Boolean>) connection -> {
+
+			try (var columns = connection.getMetaData().getColumns(null, null, table, LEGACY_COLUMN)) {
+				return columns.next();
+			}
+		});
+	}
+}
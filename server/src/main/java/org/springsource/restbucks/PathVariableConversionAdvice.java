@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+/**
+ * Answers requests with {@code 404 Not Found} if a path variable can't be converted into the type the handler method
+ * expects, e.g. an aggregate identifier that's not a {@link java.util.UUID}. Such a URI can't identify any resource.
+ *
+ * @author Oliver Drotbohm
+ */
+@ControllerAdvice
+class PathVariableConversionAdvice {
+
+	/**
+	 * Answers the request with {@code 404 Not Found} in case the given exception was caused by a path variable.
+	 * Rethrows it otherwise to fall back to the default handling.
+	 *
+	 * @param exception must not be {@literal null}.
+	 * @return
+	 * @throws MethodArgumentTypeMismatchException
+	 */
+	@ExceptionHandler
+	ResponseEntity<?> handle(MethodArgumentTypeMismatchException exception) throws MethodArgumentTypeMismatchException {
+
+		if (!exception.getParameter().hasParameterAnnotation(PathVariable.class)) {
+			throw exception;
+		}
+
+		return ResponseEntity.notFound().build();
+	}
+}
@@ -22,7 +22,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.hateoas.UriTemplate;
 import org.springframework.hateoas.mediatype.hal.CurieProvider;
 import org.springframework.hateoas.mediatype.hal.DefaultCurieProvider;
-import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * Central application class containing both general application and web configuration as well as a main-method to
@@ -32,7 +31,6 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * @see SpringApplication
  * @author Oliver Gierke
  */
-@EnableAsync
 @ConfigurationPropertiesScan
 @SpringBootApplication
 public class Restbucks {
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.Money;
+import org.jmolecules.ddd.annotation.ValueObject;
+import org.springframework.util.Assert;
+
+/**
+ * A fixed-point monetary amount represented as a {@code long} number of minor units of a currency, e.g. 270 for EUR
+ * 2.70. Used for storage and arithmetic on the hot paths to avoid the {@link BigDecimal}-backed {@link Money}
+ * instances, which are only created at the API edges via {@link #toMonetaryAmount()}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Value
+@ValueObject
+public class Amount {
+
+	long minorUnits;
+	String currency;
+
+	private Amount(long minorUnits, String currency) {
+
+		Assert.hasText(currency, "Currency must not be null or empty!");
+
+		this.minorUnits = minorUnits;
+		this.currency = currency;
+	}
+
+	/**
+	 * Creates a new {@link Amount} of the given minor units of the given {@link CurrencyUnit}.
+	 *
+	 * @param minorUnits
+	 * @param currency must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static Amount of(long minorUnits, CurrencyUnit currency) {
+
+		Assert.notNull(currency, "Currency must not be null!");
+
+		return new Amount(minorUnits, currency.getCurrencyCode());
+	}
+
+	/**
+	 * Creates a new {@link Amount} from the given {@link MonetaryAmount}.
+	 *
+	 * @param amount must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @throws ArithmeticException in case the given {@link MonetaryAmount} has a fraction smaller than the minor unit of
+	 *           its currency or exceeds the range of {@code long}.
+	 */
+	public static Amount of(MonetaryAmount amount) {
+
+		Assert.notNull(amount, "MonetaryAmount must not be null!");
+
+		var currency = amount.getCurrency();
+		var minorUnits = amount.getNumber().numberValue(BigDecimal.class) //
+				.movePointRight(currency.getDefaultFractionDigits()) //
+				.longValueExact();
+
+		return new Amount(minorUnits, currency.getCurrencyCode());
+	}
+
+	/**
+	 * Returns an {@link Amount} of zero in the given {@link CurrencyUnit}.
+	 *
+	 * @param currency must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static Amount zero(CurrencyUnit currency) {
+		return of(0, currency);
+	}
+
+	/**
+	 * Returns a new {@link Amount} with the given one added.
+	 *
+	 * @param other must not be {@literal null} and be of the same currency.
+	 * @return will never be {@literal null}.
+	 */
+	public Amount add(Amount other) {
+
+		Assert.notNull(other, "Amount must not be null!");
+		Assert.isTrue(currency.equals(other.currency),
+				() -> String.format("Currency of %s does not match %s!", other, this));
+
+		return new Amount(Math.addExact(minorUnits, other.minorUnits), currency);
+	}
+
+	/**
+	 * Returns a new {@link Amount} multiplied by the given factor.
+	 *
+	 * @param factor
+	 * @return will never be {@literal null}.
+	 */
+	public Amount multiply(int factor) {
+		return factor == 1 ? this : new Amount(Math.multiplyExact(minorUnits, factor), currency);
+	}
+
+	/**
+	 * Returns whether the {@link Amount} is zero.
+	 *
+	 * @return
+	 */
+	public boolean isZero() {
+		return minorUnits == 0;
+	}
+
+	/**
+	 * Returns the {@link Amount} as {@link MonetaryAmount}.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public MonetaryAmount toMonetaryAmount() {
+		return Money.ofMinor(Currencies.of(currency), minorUnits);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s %s", currency, toMonetaryAmount().getNumber());
+	}
+}
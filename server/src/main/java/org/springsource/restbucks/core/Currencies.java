@@ -15,15 +15,39 @@
  */
 package org.springsource.restbucks.core;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 
+import org.springframework.util.Assert;
+
 /**
- * Interface to contain {@link CurrencyUnit} constants.
- * 
+ * {@link CurrencyUnit} constants and a cache of the {@link CurrencyUnit}s looked up by currency code, so that the
+ * {@link Monetary} SPI isn't consulted on every conversion of an {@link Amount}.
+ *
  * @author Oliver Gierke
+ * @author Oliver Drotbohm
  */
-public interface Currencies {
+public class Currencies {
 
 	public static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+	private static final Map<String, CurrencyUnit> CURRENCIES = new ConcurrentHashMap<>(Map.of("EUR", EURO));
+
+	private Currencies() {}
+
+	/**
+	 * Returns the {@link CurrencyUnit} for the given currency code.
+	 *
+	 * @param code must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 */
+	public static CurrencyUnit of(String code) {
+
+		Assert.hasText(code, "Currency code must not be null or empty!");
+
+		return CURRENCIES.computeIfAbsent(code, Monetary::getCurrency);
+	}
 }
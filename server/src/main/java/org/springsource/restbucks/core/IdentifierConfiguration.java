@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+
+/**
+ * Applies the configured {@link IdentifierSettings} to {@link Identifiers}. Always applies the configured
+ * {@link Identifiers.Generation}, so that application contexts started one after another in the same JVM, as in tests,
+ * don't see the one of a previous context.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+class IdentifierConfiguration {
+
+	/**
+	 * @param settings must not be {@literal null}.
+	 */
+	IdentifierConfiguration(IdentifierSettings settings) {
+
+		Assert.notNull(settings, "IdentifierSettings must not be null!");
+
+		Identifiers.use(settings.getIdentifiers());
+	}
+}
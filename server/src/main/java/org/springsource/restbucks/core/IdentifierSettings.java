@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import lombok.Value;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.core.Identifiers.Generation;
+
+/**
+ * Configuration settings for the identifiers of aggregates and entities (see {@link Identifiers}). Unknown values for
+ * {@code restbucks.identifiers} fail the application startup.
+ *
+ * @author Oliver Drotbohm
+ */
+@Value
+@ConstructorBinding
+@ConfigurationProperties("restbucks")
+public class IdentifierSettings {
+
+	/**
+	 * How to generate the identifiers of newly created aggregates and entities.
+	 */
+	Generation identifiers;
+
+	/**
+	 * @param identifiers must not be {@literal null}.
+	 */
+	public IdentifierSettings(@DefaultValue("time-ordered") Generation identifiers) {
+
+		Assert.notNull(identifiers, "Identifier generation must not be null!");
+
+		this.identifiers = identifiers;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Creates the values of the identifiers of aggregates and entities. Uses time-ordered {@link UUID}s by default so that
+ * inserts append to the primary key indexes instead of spreading randomly across them, which keeps index pages dense
+ * and cached as the tables grow. The {@link Generation} is configured via {@link IdentifierSettings} on application
+ * startup, as aggregates and entities create their identifiers themselves and thus need a static entry point.
+ *
+ * @author Oliver Drotbohm
+ */
+public class Identifiers {
+
+	private static volatile Generation generation = Generation.TIME_ORDERED;
+
+	private Identifiers() {}
+
+	/**
+	 * Returns a new, unique identifier value.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public static UUID next() {
+		return generation.get();
+	}
+
+	/**
+	 * Uses the given {@link Generation} for all identifiers created from now on.
+	 *
+	 * @param generation must not be {@literal null}.
+	 */
+	static void use(Generation generation) {
+
+		Assert.notNull(generation, "Generation must not be null!");
+
+		Identifiers.generation = generation;
+	}
+
+	/**
+	 * The ways to generate identifier values.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	public enum Generation implements Supplier<UUID> {
+
+		/**
+		 * Random, version 4 {@link UUID}s.
+		 */
+		RANDOM(UUID::randomUUID),
+
+		/**
+		 * Time-ordered, version 7 {@link UUID}s.
+		 */
+		TIME_ORDERED(new TimeOrderedUuidGenerator());
+
+		private final Supplier<UUID> generator;
+
+		Generation(Supplier<UUID> generator) {
+			this.generator = generator;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.function.Supplier#get()
+		 */
+		@Override
+		public UUID get() {
+			return generator.get();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import lombok.Value;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration settings for the rendering of JSON representations.
+ *
+ * @author Oliver Drotbohm
+ */
+@Value
+@ConstructorBinding
+@ConfigurationProperties("restbucks.json")
+public class JsonSettings {
+
+	/**
+	 * Whether to render orders and receipts using the hand-written {@link PrecompiledHalSerializer}s.
+	 */
+	boolean precompiled;
+
+	/**
+	 * @param precompiled whether to use the {@link PrecompiledHalSerializer}s.
+	 */
+	public JsonSettings(@DefaultValue("false") boolean precompiled) {
+		this.precompiled = precompiled;
+	}
+}
@@ -27,7 +27,8 @@ import org.javamoney.moneta.Money;
 
 /**
  * JPA {@link AttributeConverter} to serialize {@link MonetaryAmount} instances into a {@link String}. Auto-applied to
- * all entity properties of type {@link MonetaryAmount}.
+ * all entity properties of type {@link MonetaryAmount}. Prices are stored as {@link Amount}s in numeric columns, so
+ * this is primarily used to read values written in the legacy text format.
  *
  * @author Oliver Trosien
  * @author Oliver Gierke
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+
+import org.javamoney.moneta.Money;
+import org.springframework.util.Assert;
+
+/**
+ * Cached access to {@link MonetaryAmountFormat}s. Looking up a format via {@link MonetaryFormats} goes through the
+ * JSR-354 SPI and creates a new instance on every call. As the formats created by Moneta are not thread-safe, they're
+ * kept in a pool per locale shared by all threads. A format is taken from the pool for a single formatting or parsing
+ * operation and returned afterwards, so that the cache works regardless of whether requests are served by pooled or
+ * per-task (virtual) threads. At most {@value #MAX_LOCALES} locales and {@value #MAX_FORMATS_PER_LOCALE} formats per
+ * locale are kept.
+ * <p>
+ * Formatting Euro amounts is additionally short-cut to write the digits directly. The layout used for that is derived
+ * from the actual {@link MonetaryAmountFormat} of a locale the first time it's used, e.g. the one resolved from the
+ * {@code Accept-Language} header of a request. Locales whose format doesn't produce the expected shape always use the
+ * pooled formats.
+ *
+ * @author Oliver Drotbohm
+ */
+public class MonetaryAmountFormats {
+
+	static final int MAX_LOCALES = 16;
+	static final int MAX_FORMATS_PER_LOCALE = 64;
+
+	private static final Map<Locale, Queue<MonetaryAmountFormat>> FORMATS = Collections
+			.synchronizedMap(new LinkedHashMap<>(MAX_LOCALES, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Locale, Queue<MonetaryAmountFormat>> eldest) {
+					return size() > MAX_LOCALES;
+				}
+			});
+
+	private static final Map<Locale, Optional<EuroLayout>> EURO_LAYOUTS = Collections
+			.synchronizedMap(new LinkedHashMap<>(MAX_LOCALES, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Locale, Optional<EuroLayout>> eldest) {
+					return size() > MAX_LOCALES;
+				}
+			});
+
+	private MonetaryAmountFormats() {}
+
+	/**
+	 * Parses the given text into a {@link Money} instance using the format for the given {@link Locale}.
+	 *
+	 * @param text must not be {@literal null}.
+	 * @param locale must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static Money parse(CharSequence text, Locale locale) {
+
+		Assert.notNull(text, "Text must not be null!");
+		Assert.notNull(locale, "Locale must not be null!");
+
+		return withFormat(locale, it -> Money.parse(text, it));
+	}
+
+	/**
+	 * Formats the given {@link MonetaryAmount} for the given {@link Locale}.
+	 *
+	 * @param amount must not be {@literal null}.
+	 * @param locale must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static String format(MonetaryAmount amount, Locale locale) {
+
+		Assert.notNull(amount, "MonetaryAmount must not be null!");
+		Assert.notNull(locale, "Locale must not be null!");
+
+		if (Currencies.EURO.equals(amount.getCurrency())) {
+
+			var result = getEuroLayout(locale)
+					.map(it -> it.format(amount))
+					.orElse(null);
+
+			if (result != null) {
+				return result;
+			}
+		}
+
+		return withFormat(locale, it -> it.format(amount));
+	}
+
+	/**
+	 * Returns the {@link EuroLayout} detected for the given {@link Locale}.
+	 *
+	 * @param locale must not be {@literal null}.
+	 * @return
+	 */
+	static Optional<EuroLayout> getEuroLayout(Locale locale) {
+		return EURO_LAYOUTS.computeIfAbsent(locale, EuroLayout::detect);
+	}
+
+	/**
+	 * Returns the number of formats currently pooled for the given {@link Locale}.
+	 *
+	 * @param locale must not be {@literal null}.
+	 * @return
+	 */
+	static int getPooledFormats(Locale locale) {
+
+		var pool = FORMATS.get(locale);
+
+		return pool == null ? 0 : pool.size();
+	}
+
+	/**
+	 * Applies the given function to a {@link MonetaryAmountFormat} for the given {@link Locale} exclusively owned by the
+	 * calling thread for the time of the invocation.
+	 *
+	 * @param locale must not be {@literal null}.
+	 * @param function must not be {@literal null}.
+	 * @return
+	 */
+	private static <T> T withFormat(Locale locale, Function<MonetaryAmountFormat, T> function) {
+
+		var pool = FORMATS.computeIfAbsent(locale, __ -> new ArrayBlockingQueue<>(MAX_FORMATS_PER_LOCALE));
+		var format = pool.poll();
+
+		if (format == null) {
+			format = MonetaryFormats.getAmountFormat(locale);
+		}
+
+		try {
+			return function.apply(format);
+		} finally {
+			pool.offer(format);
+		}
+	}
+
+	/**
+	 * The layout of Euro amounts formatted for a particular {@link Locale}, i.e. a prefix followed by the integer
+	 * digits grouped by three, two fraction digits and a suffix.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	static class EuroLayout {
+
+		private static final BigDecimal MAX = BigDecimal.valueOf(Long.MAX_VALUE / 100);
+		private static final Pattern PROBE = Pattern.compile("(.*?)1(\\D)234\\2567(\\D)89(.*)");
+
+		private final String prefix, suffix;
+		private final char groupingSeparator, decimalSeparator;
+
+		private EuroLayout(String prefix, char groupingSeparator, char decimalSeparator, String suffix) {
+
+			this.prefix = prefix;
+			this.groupingSeparator = groupingSeparator;
+			this.decimalSeparator = decimalSeparator;
+			this.suffix = suffix;
+		}
+
+		/**
+		 * Detects the layout by formatting probe values with the {@link MonetaryAmountFormat} for the given
+		 * {@link Locale}.
+		 *
+		 * @param locale must not be {@literal null}.
+		 * @return the layout if the format produces the expected shape for all probes.
+		 */
+		static Optional<EuroLayout> detect(Locale locale) {
+			return withFormat(locale, EuroLayout::detectWith);
+		}
+
+		private static Optional<EuroLayout> detectWith(MonetaryAmountFormat format) {
+
+			var matcher = PROBE.matcher(format.format(Money.of(new BigDecimal("1234567.89"), Currencies.EURO)));
+
+			if (!matcher.matches()) {
+				return Optional.empty();
+			}
+
+			var layout = new EuroLayout(matcher.group(1), //
+					matcher.group(2).charAt(0), //
+					matcher.group(3).charAt(0), //
+					matcher.group(4));
+
+			return Optional.of(layout).filter(it -> it.matches(format, "0")
+					&& it.matches(format, "0.5")
+					&& it.matches(format, "999.99")
+					&& it.matches(format, "1000"));
+		}
+
+		/**
+		 * Formats the given {@link MonetaryAmount} or returns {@literal null} if it is not a non-negative Euro amount
+		 * with at most two fraction digits.
+		 *
+		 * @param amount must not be {@literal null}.
+		 * @return
+		 */
+		String format(MonetaryAmount amount) {
+
+			if (!Currencies.EURO.equals(amount.getCurrency())) {
+				return null;
+			}
+
+			var number = amount.getNumber().numberValue(BigDecimal.class);
+
+			if (number.signum() < 0 || number.compareTo(MAX) > 0
+					|| number.scale() > 2 && number.stripTrailingZeros().scale() > 2) {
+				return null;
+			}
+
+			return format(number.movePointRight(2).longValue());
+		}
+
+		private String format(long cents) {
+
+			var digits = Long.toString(cents / 100);
+			var fraction = cents % 100;
+			var builder = new StringBuilder(prefix.length() + digits.length() * 4 / 3 + 3 + suffix.length())
+					.append(prefix);
+
+			for (int i = 0; i < digits.length(); i++) {
+
+				if (i > 0 && (digits.length() - i) % 3 == 0) {
+					builder.append(groupingSeparator);
+				}
+
+				builder.append(digits.charAt(i));
+			}
+
+			return builder.append(decimalSeparator) //
+					.append((char) ('0' + fraction / 10)) //
+					.append((char) ('0' + fraction % 10)) //
+					.append(suffix) //
+					.toString();
+		}
+
+		private boolean matches(MonetaryAmountFormat format, String value) {
+
+			var amount = Money.of(new BigDecimal(value), Currencies.EURO);
+
+			return format.format(amount).equals(format(amount));
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import java.io.IOException;
+
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule.HalLinkListSerializer;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Base class for hand-written HAL serializers of hot resources. Implementations write the structure of a
+ * representation directly to the {@link JsonGenerator} using pre-encoded property names instead of going through
+ * reflective bean serialization. Leaf values are still rendered by the serializers registered with the
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} at hand and links by Spring HATEOAS'
+ * {@link HalLinkListSerializer}, so that enum translation, money formatting and curies render exactly as they do for
+ * the regular representations.
+ *
+ * @author Oliver Drotbohm
+ */
+public abstract class PrecompiledHalSerializer<T> extends StdSerializer<T> {
+
+	private static final long serialVersionUID = 1L;
+	private static final SerializedString LINKS = new SerializedString("_links");
+
+	/**
+	 * Creates a new {@link PrecompiledHalSerializer} for the given type.
+	 *
+	 * @param type must not be {@literal null}.
+	 */
+	protected PrecompiledHalSerializer(Class<T> type) {
+		super(type);
+	}
+
+	/**
+	 * Writes a field with the given pre-encoded name and value using the serializer registered for the value's type.
+	 *
+	 * @param name must not be {@literal null}.
+	 * @param value can be {@literal null}.
+	 * @param generator must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @throws IOException
+	 */
+	protected static void writeField(SerializableString name, @Nullable Object value, JsonGenerator generator,
+			SerializerProvider provider) throws IOException {
+
+		generator.writeFieldName(name);
+
+		if (value == null) {
+			provider.defaultSerializeNull(generator);
+		} else {
+			provider.findValueSerializer(value.getClass()).serialize(value, generator, provider);
+		}
+	}
+
+	/**
+	 * Writes the given {@link Links} as HAL {@code _links} object unless they're empty.
+	 *
+	 * @param links must not be {@literal null}.
+	 * @param generator must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @throws IOException
+	 */
+	protected static void writeLinks(Links links, JsonGenerator generator, SerializerProvider provider)
+			throws IOException {
+
+		if (links.isEmpty()) {
+			return;
+		}
+
+		generator.writeFieldName(LINKS);
+		provider.serializerInstance(null, HalLinkListSerializer.class).serialize(links, generator, provider);
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Generates time-ordered version 7 {@link UUID}s as defined in RFC 9562. The most significant 48 bits carry the Unix
+ * timestamp in milliseconds, so that identifiers generated later sort after the ones generated earlier, both as
+ * {@link UUID} and in their canonical {@link String} representation. New rows thus end up next to each other in an
+ * index on the identifier instead of being spread randomly across it. The 12 bits following the version are used as
+ * counter for identifiers generated within the same millisecond, which keeps them ordered even on a backwards clock
+ * adjustment. The remaining 62 bits are random.
+ *
+ * @author Oliver Drotbohm
+ */
+class TimeOrderedUuidGenerator implements Supplier<UUID> {
+
+	private static final int MAX_COUNTER = 0xFFF;
+
+	private final Clock clock;
+	private final Random random;
+
+	private long lastTimestamp;
+	private int counter;
+
+	/**
+	 * Creates a new {@link TimeOrderedUuidGenerator} using the system clock.
+	 */
+	TimeOrderedUuidGenerator() {
+		this(Clock.systemUTC(), new SecureRandom());
+	}
+
+	/**
+	 * Creates a new {@link TimeOrderedUuidGenerator} using the given {@link Clock} and {@link Random}.
+	 *
+	 * @param clock must not be {@literal null}.
+	 * @param random must not be {@literal null}.
+	 */
+	TimeOrderedUuidGenerator(Clock clock, Random random) {
+
+		Assert.notNull(clock, "Clock must not be null!");
+		Assert.notNull(random, "Random must not be null!");
+
+		this.clock = clock;
+		this.random = random;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.function.Supplier#get()
+	 */
+	@Override
+	public UUID get() {
+
+		long timestamp;
+		int sequence;
+
+		synchronized (this) {
+
+			var now = clock.millis();
+
+			if (now > lastTimestamp) {
+
+				lastTimestamp = now;
+
+				// Start at a random point in the lower half to leave room for identifiers within the same millisecond
+				counter = random.nextInt(MAX_COUNTER / 2);
+
+			} else if (++counter > MAX_COUNTER) {
+
+				lastTimestamp++;
+				counter = 0;
+			}
+
+			timestamp = lastTimestamp;
+			sequence = counter;
+		}
+
+		var mostSignificantBits = (timestamp & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000 | sequence;
+		var leastSignificantBits = random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+
+		return new UUID(mostSignificantBits, leastSignificantBits);
+	}
+}
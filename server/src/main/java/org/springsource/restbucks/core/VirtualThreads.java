@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Access to virtual threads. As the application is still compiled against Java 17, the API is looked up reflectively
+ * so that virtual threads can be used as soon as the application runs on a JDK that supports them (21 or newer).
+ *
+ * @author Oliver Drotbohm
+ */
+public class VirtualThreads {
+
+	private static final Method OF_VIRTUAL, NAME, FACTORY;
+
+	static {
+
+		Method ofVirtual = null, name = null, factory = null;
+
+		try {
+
+			var builderType = Class.forName("java.lang.Thread$Builder");
+
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			name = builderType.getMethod("name", String.class, long.class);
+			factory = builderType.getMethod("factory");
+
+			// Fails on JDKs shipping virtual threads as preview feature only
+			ofVirtual.invoke(null);
+
+		} catch (ReflectiveOperationException | RuntimeException o_O) {
+			ofVirtual = null;
+		}
+
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		FACTORY = factory;
+	}
+
+	private VirtualThreads() {}
+
+	/**
+	 * Returns whether the current JVM supports virtual threads.
+	 *
+	 * @return
+	 */
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Returns a {@link ThreadFactory} creating virtual threads named with the given prefix.
+	 *
+	 * @param prefix must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 * @throws IllegalStateException in case the current JVM does not support virtual threads.
+	 */
+	public static ThreadFactory threadFactory(String prefix) {
+
+		Assert.hasText(prefix, "Prefix must not be null or empty!");
+		assertSupported();
+
+		try {
+
+			var builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+
+			return (ThreadFactory) FACTORY.invoke(builder);
+
+		} catch (ReflectiveOperationException o_O) {
+			throw new IllegalStateException("Could not create virtual thread factory!", o_O);
+		}
+	}
+
+	/**
+	 * Returns an {@link Executor} that runs each task on a new virtual thread.
+	 *
+	 * @param prefix must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 * @throws IllegalStateException in case the current JVM does not support virtual threads.
+	 */
+	public static Executor newThreadPerTaskExecutor(String prefix) {
+
+		var factory = threadFactory(prefix);
+
+		return task -> factory.newThread(task).start();
+	}
+
+	private static void assertSupported() {
+
+		if (!isSupported()) {
+			throw new IllegalStateException(
+					"Virtual threads are not supported on Java %s! Use Java 21 or newer.".formatted(Runtime.version()));
+		}
+	}
+}
@@ -15,42 +15,69 @@
  */
 package org.springsource.restbucks.drinks;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Value;
 
 import java.util.UUID;
 
 import javax.money.MonetaryAmount;
+import javax.persistence.AttributeOverride;
+import javax.persistence.Column;
+import javax.persistence.EntityListeners;
 
 import org.jmolecules.ddd.types.AggregateRoot;
 import org.jmolecules.ddd.types.Identifier;
+import org.springsource.restbucks.core.Amount;
+import org.springsource.restbucks.core.Identifiers;
 import org.springsource.restbucks.drinks.Drink.DrinkIdentifier;
 import org.springsource.restbucks.order.Milk;
 import org.springsource.restbucks.order.Size;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * @author Oliver Drotbohm
  */
 @Getter
+@EntityListeners(DrinksCatalogListener.class)
 public class Drink implements AggregateRoot<Drink, DrinkIdentifier> {
 
 	private DrinkIdentifier id;
 	private String name;
 	private Milk milk;
 	private Size size;
-	private MonetaryAmount price;
+
+	@AttributeOverride(name = "minorUnits", column = @Column(name = "price_minor_units")) //
+	@AttributeOverride(name = "currency", column = @Column(name = "price_currency", length = 3)) //
+	private @Getter(AccessLevel.NONE) Amount price;
 
 	public Drink(String name, Milk milk, Size size, MonetaryAmount price) {
 
-		this.id = DrinkIdentifier.of(UUID.randomUUID().toString());
+		this.id = DrinkIdentifier.of(Identifiers.next());
 		this.name = name;
 		this.milk = milk;
 		this.size = size;
-		this.price = price;
+		this.price = Amount.of(price);
+	}
+
+	public MonetaryAmount getPrice() {
+		return price.toMonetaryAmount();
+	}
+
+	/**
+	 * Returns the price of the {@link Drink} as {@link Amount} for calculations that shouldn't go through
+	 * {@link MonetaryAmount}.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	@JsonIgnore
+	public Amount getAmount() {
+		return price;
 	}
 
 	@Value(staticConstructor = "of")
 	public static class DrinkIdentifier implements Identifier {
-		String id;
+		@Column(columnDefinition = "uuid") UUID id;
 	}
 }
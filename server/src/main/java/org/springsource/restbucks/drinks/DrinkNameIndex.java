@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.util.Assert;
+
+/**
+ * Immutable index to look up {@link Drink}s by parts of their name, case-insensitively. Keeps a sorted array of all
+ * suffixes of the lowercased names, so that all names containing a query can be found by a binary search for the
+ * first suffix starting with the query and scanning the following ones. Lookups thus only depend on the number of
+ * matches, not on the size of the catalog.
+ *
+ * @author Oliver Drotbohm
+ */
+class DrinkNameIndex {
+
+	private final List<Drink> drinks;
+	private final String[] suffixes;
+	private final int[] owners;
+
+	/**
+	 * Creates a new {@link DrinkNameIndex} for the given {@link Drink}s. Lookups return {@link Drink}s in the order
+	 * given.
+	 *
+	 * @param drinks must not be {@literal null}.
+	 */
+	DrinkNameIndex(List<Drink> drinks) {
+
+		Assert.notNull(drinks, "Drinks must not be null!");
+
+		this.drinks = List.copyOf(drinks);
+
+		var entries = new ArrayList<Suffix>();
+
+		for (int i = 0; i < this.drinks.size(); i++) {
+
+			var name = normalize(this.drinks.get(i).getName());
+
+			for (int start = 0; start < name.length(); start++) {
+				entries.add(new Suffix(name.substring(start), i));
+			}
+		}
+
+		entries.sort(Comparator.comparing(Suffix::getValue));
+
+		this.suffixes = entries.stream().map(Suffix::getValue).toArray(String[]::new);
+		this.owners = entries.stream().mapToInt(Suffix::getOwner).toArray();
+	}
+
+	/**
+	 * Returns all {@link Drink}s with a name containing the given one, ignoring case.
+	 *
+	 * @param name must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	List<Drink> findByNameContaining(String name) {
+
+		Assert.notNull(name, "Name must not be null!");
+
+		var query = normalize(name);
+
+		if (query.isEmpty()) {
+			return drinks;
+		}
+
+		var matches = new BitSet(drinks.size());
+
+		for (int i = lowerBound(query); i < suffixes.length && suffixes[i].startsWith(query); i++) {
+			matches.set(owners[i]);
+		}
+
+		var result = new ArrayList<Drink>(matches.cardinality());
+
+		for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+			result.add(drinks.get(i));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the index of the first suffix not sorting before the given query. Unlike
+	 * {@link java.util.Arrays#binarySearch(Object[], Object)}, this reliably points to the first of several equal
+	 * suffixes, e.g. of {@link Drink}s sharing a name.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @return the index of the first suffix greater than or equal to the query or the number of suffixes.
+	 */
+	private int lowerBound(String query) {
+
+		int low = 0, high = suffixes.length;
+
+		while (low < high) {
+
+			int middle = (low + high) >>> 1;
+
+			if (suffixes[middle].compareTo(query) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	private static String normalize(String source) {
+		return source.toLowerCase(Locale.ROOT);
+	}
+
+	@Value
+	private static class Suffix {
+
+		String value;
+		int owner;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.util.Assert;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+import org.springsource.restbucks.drinks.Drink.DrinkIdentifier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Resolves URIs pointing to {@link Drink} resources into {@link Drink}s using the {@link DrinksCatalog}, so that
+ * binding an order doesn't cost a database query per {@link Drink} referenced. Only accepts URIs whose path matches the
+ * {@link Drink} item resource, i.e. {@code /drinks/{id}}. Instantiated by Jackson via Spring and
+ * thus to be used via {@link com.fasterxml.jackson.databind.annotation.JsonDeserialize}.
+ *
+ * @author Oliver Drotbohm
+ */
+public class DrinkReferenceDeserializer extends StdDeserializer<Drink> {
+
+	private static final long serialVersionUID = 1L;
+	private static final UriTemplate DRINK_RESOURCE = new UriTemplate("/drinks/{id:[^/]+}");
+
+	private final transient DrinksCatalog catalog;
+
+	/**
+	 * Creates a new {@link DrinkReferenceDeserializer} for the given {@link DrinksCatalog}.
+	 *
+	 * @param catalog must not be {@literal null}.
+	 */
+	DrinkReferenceDeserializer(DrinksCatalog catalog) {
+
+		super(Drink.class);
+
+		Assert.notNull(catalog, "DrinksCatalog must not be null!");
+
+		this.catalog = catalog;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.databind.JsonDeserializer#deserialize(com.fasterxml.jackson.core.JsonParser, com.fasterxml.jackson.databind.DeserializationContext)
+	 */
+	@Override
+	public Drink deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+
+		var source = parser.getValueAsString();
+		var id = source == null ? null : getDrinkIdentifier(source);
+
+		if (id == null) {
+			return (Drink) context.handleWeirdStringValue(Drink.class, source, "Not a drink URI!");
+		}
+
+		var drink = catalog.findById(id);
+
+		return drink.isPresent() //
+				? drink.get() //
+				: (Drink) context.handleWeirdStringValue(Drink.class, source, "Unknown drink!");
+	}
+
+	/**
+	 * Returns the {@link DrinkIdentifier} contained in the given URI or {@literal null} in case it doesn't point to a
+	 * {@link Drink} resource.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @return
+	 */
+	private static DrinkIdentifier getDrinkIdentifier(String source) {
+
+		var path = UriComponentsBuilder.fromUriString(source).build().getPath();
+
+		if (path == null || !DRINK_RESOURCE.matches(path)) {
+			return null;
+		}
+
+		try {
+			return DrinkIdentifier.of(UUID.fromString(DRINK_RESOURCE.match(path).get("id")));
+		} catch (IllegalArgumentException o_O) {
+			return null;
+		}
+	}
+}
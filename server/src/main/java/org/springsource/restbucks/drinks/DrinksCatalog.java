@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import static org.springframework.data.domain.Sort.*;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.util.Streamable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.drinks.Drink.DrinkIdentifier;
+
+/**
+ * In-memory, read-through cache of all {@link Drink}s. The catalog changes rarely but is read for every options
+ * request and every {@link Drink} referenced when placing an order. The catalog is loaded as a whole on first access
+ * and dropped after every transaction that added, changed or removed a {@link Drink} (see
+ * {@link DrinksCatalogListener}). Lookups are exposed as {@code cache.gets} metric tagged with {@code result} being
+ * either {@code hit} or {@code miss}, counting exactly one of them per lookup. Looking up a {@link Drink} by
+ * identifier only counts as hit if it was found in an already loaded catalog.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+public class DrinksCatalog {
+
+	static final String CACHE_NAME = "drinks";
+	static final Sort BY_NAME = sort(Drink.class).by(Drink::getName).ascending();
+
+	private final Drinks drinks;
+	private final Counter hits, misses;
+
+	private volatile Snapshot snapshot;
+	private long generation;
+
+	/**
+	 * Creates a new {@link DrinksCatalog} for the given {@link Drinks} and {@link MeterRegistry}.
+	 *
+	 * @param drinks must not be {@literal null}.
+	 * @param registry must not be {@literal null}.
+	 */
+	DrinksCatalog(Drinks drinks, MeterRegistry registry) {
+
+		Assert.notNull(drinks, "Drinks must not be null!");
+		Assert.notNull(registry, "MeterRegistry must not be null!");
+
+		this.drinks = drinks;
+		this.hits = counter("hit", registry);
+		this.misses = counter("miss", registry);
+	}
+
+	/**
+	 * Returns all {@link Drink}s sorted by name.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public Streamable<Drink> findAll() {
+		return Streamable.of(lookup().drinks);
+	}
+
+	/**
+	 * Returns the version of the catalog, which changes every time the catalog is reloaded after a change to the
+	 * {@link Drink}s. Derived state that is calculated from the {@link Drink}s has to obtain the version <em>before</em>
+	 * looking up the {@link Drink}s, so that it's never associated with a newer version than its source.
+	 *
+	 * @return
+	 */
+	public long getVersion() {
+		return getSnapshot().version;
+	}
+
+	/**
+	 * Returns all {@link Drink}s with a name containing the given one ignoring case, sorted by name. Answered from a
+	 * {@link DrinkNameIndex} so that type-ahead lookups don't have to scan the catalog.
+	 *
+	 * @param name must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public Streamable<Drink> findByNameContaining(String name) {
+
+		Assert.notNull(name, "Name must not be null!");
+
+		return Streamable.of(lookup().names.findByNameContaining(name));
+	}
+
+	/**
+	 * Returns the {@link Drink} with the given identifier. Falls back to the database for {@link Drink}s not contained
+	 * in the catalog yet.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public Optional<Drink> findById(DrinkIdentifier id) {
+
+		Assert.notNull(id, "Drink identifier must not be null!");
+
+		var current = snapshot;
+		var cached = current != null;
+		var drink = (cached ? current : load()).byId.get(id);
+
+		(cached && drink != null ? hits : misses).increment();
+
+		return drink != null ? Optional.of(drink) : drinks.findById(id);
+	}
+
+	/**
+	 * Drops the currently cached catalog once the transaction changing the {@link Drink}s has committed, so that the
+	 * next access loads the current one.
+	 *
+	 * @param event must not be {@literal null}.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	void on(DrinksChanged event) {
+		invalidate();
+	}
+
+	/**
+	 * Drops the currently cached catalog.
+	 */
+	synchronized void invalidate() {
+
+		generation++;
+		snapshot = null;
+	}
+
+	/**
+	 * Returns the current catalog without counting a lookup.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	private Snapshot getSnapshot() {
+
+		var current = snapshot;
+
+		return current != null ? current : load();
+	}
+
+	/**
+	 * Returns the current catalog counting a hit if it was cached or a miss if it had to be loaded.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	private Snapshot lookup() {
+
+		var current = snapshot;
+
+		if (current != null) {
+			hits.increment();
+			return current;
+		}
+
+		misses.increment();
+
+		return load();
+	}
+
+	private Snapshot load() {
+
+		long loadedGeneration;
+
+		synchronized (this) {
+			loadedGeneration = generation;
+		}
+
+		var loaded = new Snapshot(drinks.findAll(BY_NAME).toList(), loadedGeneration);
+
+		// Only publish the loaded catalog if it wasn't invalidated while loading
+		synchronized (this) {
+			if (generation == loadedGeneration) {
+				snapshot = loaded;
+			}
+		}
+
+		return loaded;
+	}
+
+	private static Counter counter(String result, MeterRegistry registry) {
+
+		return Counter.builder("cache.gets")
+				.description("Number of lookups in the drinks catalog")
+				.tag("cache", CACHE_NAME)
+				.tag("result", result)
+				.register(registry);
+	}
+
+	/**
+	 * An immutable copy of the catalog including the indexes to look up {@link Drink}s.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private static class Snapshot {
+
+		private final List<Drink> drinks;
+		private final Map<DrinkIdentifier, Drink> byId;
+		private final DrinkNameIndex names;
+		private final long version;
+
+		Snapshot(List<Drink> drinks, long version) {
+
+			this.drinks = List.copyOf(drinks);
+			this.byId = drinks.stream().collect(Collectors.toUnmodifiableMap(Drink::getId, Function.identity()));
+			this.names = new DrinkNameIndex(this.drinks);
+			this.version = version;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.Assert;
+
+/**
+ * JPA entity listener publishing a {@link DrinksChanged} event for every {@link Drink} written to the database, no
+ * matter whether it was changed through the {@link Drinks} repository or the REST API. Instantiated by Hibernate via
+ * Spring, so it must only depend on infrastructure available before the {@link javax.persistence.EntityManagerFactory}
+ * has been created.
+ *
+ * @author Oliver Drotbohm
+ * @see DrinksCatalog
+ */
+class DrinksCatalogListener {
+
+	private final ApplicationEventPublisher events;
+
+	/**
+	 * Creates a new {@link DrinksCatalogListener} for the given {@link ApplicationEventPublisher}.
+	 *
+	 * @param events must not be {@literal null}.
+	 */
+	DrinksCatalogListener(ApplicationEventPublisher events) {
+
+		Assert.notNull(events, "ApplicationEventPublisher must not be null!");
+
+		this.events = events;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	void changed(Drink drink) {
+		events.publishEvent(DrinksChanged.of(drink));
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Configuration for the {@link Drink} resources.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+class DrinksConfiguration {
+
+	/**
+	 * Renders ETags for the {@link Drink} resources and answers matching conditional requests with
+	 * {@code 304 Not Modified}. As {@link Drink}s are not versioned, the ETag is calculated from the rendered response
+	 * body, which still saves the bandwidth for clients repeatedly polling the rarely changing menu. Excludes
+	 * {@link DrinksOptions}, which calculate their ETag once per version of the {@link DrinksCatalog} instead of
+	 * buffering and hashing every response.
+	 *
+	 * @return
+	 */
+	@Bean
+	FilterRegistrationBean<ShallowEtagHeaderFilter> drinksETagFilter() {
+
+		var paths = UrlPathHelper.defaultInstance;
+		var filter = new ShallowEtagHeaderFilter() {
+
+			/*
+			 * (non-Javadoc)
+			 * @see org.springframework.web.filter.OncePerRequestFilter#shouldNotFilter(javax.servlet.http.HttpServletRequest)
+			 */
+			@Override
+			protected boolean shouldNotFilter(HttpServletRequest request) {
+				return DrinksOptions.PATH.equals(paths.getPathWithinApplication(request));
+			}
+		};
+
+		var registration = new FilterRegistrationBean<>(filter);
+		registration.addUrlPatterns("/drinks", "/drinks/*");
+
+		return registration;
+	}
+}
@@ -37,7 +37,7 @@ class DrinksModelProcessor implements RepresentationModelProcessor<CollectionMod
 	@Override
 	public CollectionModel<EntityModel<Drink>> process(CollectionModel<EntityModel<Drink>> model) {
 
-		model.add(linkTo(methodOn(DrinksOptions.class).getOptions(Optional.empty())).withRel("options"));
+		model.add(linkTo(methodOn(DrinksOptions.class).getOptions(Optional.empty(), null)).withRel("options"));
 		return model;
 	}
 }
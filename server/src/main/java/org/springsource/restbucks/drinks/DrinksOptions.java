@@ -15,67 +15,216 @@
  */
 package org.springsource.restbucks.drinks;
 
-import static org.springframework.data.domain.Sort.*;
+import lombok.Value;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Sort;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.rest.webmvc.BasePathAwareController;
 import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.mediatype.hal.HalModelBuilder;
 import org.springframework.hateoas.mediatype.hal.forms.HalFormsPromptedValue;
 import org.springframework.hateoas.server.EntityLinks;
 import org.springframework.hateoas.server.TypedEntityLinks;
+import org.springframework.hateoas.server.mvc.BasicLinkBuilder;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springsource.restbucks.drinks.Drink.DrinkIdentifier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
+ * Exposes the {@link Drink}s as HAL-FORMS options. The options for all {@link Drink}s are rendered once per version of
+ * the {@link DrinksCatalog} and served as pre-rendered HAL document with an ETag derived from its content. Only the
+ * options for the current version and base URI are kept, as the rendered links are absolute. Filtered options are
+ * assembled from the already rendered {@link HalFormsPromptedValue}s.
+ *
  * @author Oliver Drotbohm
  */
 @BasePathAwareController
 public class DrinksOptions {
 
-	private static final Sort BY_NAME = sort(Drink.class).by(Drink::getName).ascending();
+	static final String PATH = "/drinks/by-name";
 
-	private final Drinks drinks;
+	private static final LinkRelation DRINKS = LinkRelation.of("drinks");
+
+	private final DrinksCatalog drinks;
 	private final TypedEntityLinks<Drink> links;
+	private final ObjectMapper mapper;
+
+	private volatile RenderedOptions rendered;
 
 	/**
-	 * Creates a new {@link DrinksOptions} for the given {@link Drinks} and {@link EntityLinks}.
+	 * Creates a new {@link DrinksOptions} for the given {@link DrinksCatalog}, {@link EntityLinks} and the
+	 * {@link MappingJackson2HttpMessageConverter} Spring Data REST uses to render HAL.
 	 *
 	 * @param drinks must not be {@literal null}.
 	 * @param links must not be {@literal null}.
+	 * @param converter must not be {@literal null}.
 	 */
-	DrinksOptions(Drinks drinks, EntityLinks links) {
+	DrinksOptions(DrinksCatalog drinks, EntityLinks links,
+			@Qualifier("halJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter) {
 
-		Assert.notNull(drinks, "Drinks must not be null!");
+		Assert.notNull(drinks, "DrinksCatalog must not be null!");
 		Assert.notNull(links, "EntityLinks must not be null!");
+		Assert.notNull(converter, "MappingJackson2HttpMessageConverter must not be null!");
 
 		this.drinks = drinks;
 		this.links = links.forType(Drink::getId);
+		this.mapper = converter.getObjectMapper();
 	}
 
 	/**
 	 * Expose {@link HalFormsPromptedValue}s for all {@link Drink}s with a name containing the optional request parameter.
 	 *
 	 * @param q
+	 * @param request
+	 * @param response
 	 * @return
+	 * @throws IOException
 	 */
-	@GetMapping("/drinks/by-name")
-	public HttpEntity<?> getOptions(@RequestParam Optional<String> q) {
+	@GetMapping(PATH)
+	public HttpEntity<?> getOptions(@RequestParam Optional<String> q, WebRequest request, HttpServletResponse response)
+			throws IOException {
+
+		var options = getRenderedOptions();
+
+		if (q.isPresent()) {
+
+			var values = drinks.findByNameContaining(q.get())
+					.map(it -> options.getValue(it, this::toPromptedValue))
+					.toList();
+
+			return ResponseEntity.ok(toModel(values));
+		}
+
+		// The pre-rendered document and its ETag only represent the HAL rendering
+		if (!acceptsHal(request)) {
+			return ResponseEntity.ok(toModel(List.copyOf(options.getValues().values())));
+		}
+
+		if (request.checkNotModified(options.getETag())) {
+			return null;
+		}
+
+		// Write the pre-rendered document directly as the handler's message converters only render objects
+		var document = options.getDocument();
 
-		var options = q.map(it -> drinks.findByNameContaining(it, BY_NAME))
-				.orElseGet(() -> drinks.findAll(BY_NAME))
-				.map(it -> HalFormsPromptedValue.of(it.getName(), links.linkToItemResource(it).getHref()))
-				.toList();
+		response.setContentType(MediaTypes.HAL_JSON_VALUE);
+		response.setHeader(HttpHeaders.ETAG, options.getETag());
+		response.setContentLength(document.length);
+		response.getOutputStream().write(document);
 
-		var model = HalModelBuilder.halModel()
-				.embed(options, LinkRelation.of("drinks"))
+		return null;
+	}
+
+	/**
+	 * Returns the {@link RenderedOptions} for the current version of the {@link DrinksCatalog} and base URI, rendering
+	 * them if necessary. Only the most recently rendered options are kept, so that requests using different base URIs
+	 * can't make us hold on to an unbounded number of documents.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	private RenderedOptions getRenderedOptions() {
+
+		var version = drinks.getVersion();
+		var baseUri = BasicLinkBuilder.linkToCurrentMapping().toString();
+		var current = rendered;
+
+		if (current != null && current.getVersion() == version && current.getBaseUri().equals(baseUri)) {
+			return current;
+		}
+
+		var options = render(version, baseUri);
+
+		rendered = options;
+
+		return options;
+	}
+
+	private RenderedOptions render(long version, String baseUri) {
+
+		var values = drinks.findAll().stream()
+				.collect(Collectors.toMap(Drink::getId, this::toPromptedValue, (left, __) -> left, LinkedHashMap::new));
+		try {
+
+			var document = mapper.writeValueAsBytes(toModel(List.copyOf(values.values())));
+			var eTag = "\"" + DigestUtils.md5DigestAsHex(document) + "\"";
+
+			return new RenderedOptions(version, baseUri, Collections.unmodifiableMap(values), document, eTag);
+
+		} catch (JsonProcessingException o_O) {
+			throw new IllegalStateException("Failed to render drink options!", o_O);
+		}
+	}
+
+	private HalFormsPromptedValue toPromptedValue(Drink drink) {
+		return HalFormsPromptedValue.of(drink.getName(), links.linkToItemResource(drink).getHref());
+	}
+
+	private static RepresentationModel<?> toModel(List<HalFormsPromptedValue> values) {
+
+		return HalModelBuilder.halModel()
+				.embed(values, DRINKS)
 				.build();
+	}
+
+	private static boolean acceptsHal(WebRequest request) {
+
+		var accept = request.getHeader(HttpHeaders.ACCEPT);
+
+		return !StringUtils.hasText(accept) || MediaType.parseMediaTypes(accept).stream()
+				.anyMatch(MediaTypes.HAL_JSON::isCompatibleWith);
+	}
+
+	/**
+	 * The options for all {@link Drink}s of a particular version of the {@link DrinksCatalog} rendered for a base URI.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	private static class RenderedOptions {
+
+		long version;
+		String baseUri;
+		Map<DrinkIdentifier, HalFormsPromptedValue> values;
+		byte[] document;
+		String eTag;
+
+		/**
+		 * Returns the already rendered {@link HalFormsPromptedValue} for the given {@link Drink} or renders it in case
+		 * the {@link Drink} was added to the {@link DrinksCatalog} after the options were rendered.
+		 *
+		 * @param drink must not be {@literal null}.
+		 * @param renderer must not be {@literal null}.
+		 * @return
+		 */
+		HalFormsPromptedValue getValue(Drink drink, Function<Drink, HalFormsPromptedValue> renderer) {
+
+			var value = values.get(drink.getId());
 
-		return ResponseEntity.ok(model);
+			return value != null ? value : renderer.apply(drink);
+		}
 	}
 }
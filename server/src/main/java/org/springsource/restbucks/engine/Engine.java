@@ -15,58 +15,138 @@
  */
 package org.springsource.restbucks.engine;
 
-import lombok.AllArgsConstructor;
-import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Collections;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
 import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Order.Status;
 import org.springsource.restbucks.order.OrderPaid;
 import org.springsource.restbucks.order.Orders;
 
 /**
- * Simple {@link OrderPaid} listener marking the according {@link Order} as in process, sleeping for 5 seconds and
- * marking the order as processed right after that.
+ * Prepares the drinks of {@link Order}s that have been marked as in preparation by the {@link OutboxDispatcher} once
+ * they were paid. The {@link Order}s are handed to the {@link PreparationBatcher} to be prepared at the
+ * {@link Stations} together with identical drinks of other orders. Once all drinks of an {@link Order} have been
+ * prepared, it is marked as prepared. No thread is blocked while the order is prepared.
  *
  * @author Oliver Gierke
  * @author Stéphane Nicoll
+ * @see OrderPaid
  */
 @Slf4j
 @Service
-@AllArgsConstructor
 class Engine {
 
-	private final @NonNull Orders orders;
-	private final @NonNull EngineSettings settings;
-	private final Set<Order> ordersInProgress = Collections.newSetFromMap(new ConcurrentHashMap<Order, Boolean>());
+	private final Orders orders;
+	private final EngineSettings settings;
+	private final Stations stations;
+	private final InFlightOrders inFlight;
+	private final PreparationBatcher batcher;
 
-	@Async
-	@TransactionalEventListener
-	public void handleOrderPaidEvent(OrderPaid event) {
+	/**
+	 * Creates a new {@link Engine} for the given {@link Orders}, {@link EngineSettings}, {@link Stations},
+	 * {@link EngineTimer} and {@link InFlightOrders}.
+	 *
+	 * @param orders must not be {@literal null}.
+	 * @param settings must not be {@literal null}.
+	 * @param stations must not be {@literal null}.
+	 * @param timer must not be {@literal null}.
+	 * @param inFlight must not be {@literal null}.
+	 */
+	Engine(Orders orders, EngineSettings settings, Stations stations, EngineTimer timer, InFlightOrders inFlight) {
 
-		var order = orders.markInPreparation(event.getOrderId());
-		var processingTime = settings.getProcessingTime();
+		Assert.notNull(orders, "Orders must not be null!");
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.notNull(stations, "Stations must not be null!");
+		Assert.notNull(inFlight, "InFlightOrders must not be null!");
 
-		ordersInProgress.add(order);
+		this.orders = orders;
+		this.settings = settings;
+		this.stations = stations;
+		this.inFlight = inFlight;
+		this.batcher = new PreparationBatcher(settings, stations, timer, inFlight, this::finishProcessing);
+	}
+
+	/**
+	 * Starts preparing the drinks of the given {@link Order}, which has to be marked as in preparation already.
+	 *
+	 * @param order must not be {@literal null}.
+	 */
+	void prepare(Order order) {
+
+		Assert.notNull(order, "Order must not be null!");
+		Assert.isTrue(order.getStatus() == Status.PREPARING, "Order must be in preparation!");
+
+		inFlight.started(order.getId());
+
+		LOG.info("Starting to process order {}.", order);
+
+		batcher.submit(order);
+	}
+
+	/**
+	 * Resumes the preparation of the given {@link Order} interrupted by a shutdown. The {@link Order} is handed to the
+	 * {@link Stations} directly with the preparation time that is left.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @see EngineRecovery
+	 */
+	void resume(Order order) {
+
+		Assert.notNull(order, "Order must not be null!");
+		Assert.isTrue(order.getStatus() == Status.PREPARING, "Order must be in preparation!");
+
+		var remaining = getRemainingPreparationTime(order);
+
+		inFlight.started(order.getId());
 
-		LOG.info("Starting to process order {} for {}.", order, processingTime.toString());
+		var assignment = stations.submit(remaining, it -> inFlight.assigned(order.getId(), it),
+				() -> finishProcessing(List.of(order)));
+
+		inFlight.assigned(order.getId(), assignment);
+
+		LOG.info("Resuming preparation of order {} at station {}, predicted to be ready at {}.", order,
+				assignment.getStation(), assignment.getReadyAt());
+	}
+
+	/**
+	 * Marks the given {@link Order}s as prepared in one go. Invoked by the {@link PreparationBatcher} once all drinks of
+	 * the {@link Order}s have been prepared. The {@link Order}s are removed from the {@link InFlightOrders} even if that
+	 * fails, as they're not processed anymore. They're still in preparation in the database and will be resumed by the
+	 * {@link EngineRecovery}.
+	 *
+	 * @param prepared must not be {@literal null}.
+	 */
+	void finishProcessing(Collection<Order> prepared) {
 
 		try {
-			Thread.sleep(processingTime.toMillis());
-		} catch (InterruptedException e) {
-			throw new RuntimeException(e);
+
+			var result = orders.markPrepared(prepared);
+
+			LOG.info("Finished processing orders {}.", result);
+
+		} finally {
+			prepared.forEach(it -> inFlight.finished(it.getId()));
 		}
+	}
+
+	private Duration getRemainingPreparationTime(Order order) {
 
-		order = orders.markPrepared(order);
+		var total = settings.getPreparationTime(order);
+		var started = order.getPreparationStartedDate();
+
+		if (started == null) {
+			return total;
+		}
 
-		ordersInProgress.remove(order);
+		var remaining = total.minus(Duration.between(started, LocalDateTime.now()));
 
-		LOG.info("Finished processing order {}.", order);
+		return remaining.isNegative() ? Duration.ZERO : remaining;
 	}
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.core.VirtualThreads;
+import org.springsource.restbucks.engine.EngineSettings.ExecutorSettings;
+import org.springsource.restbucks.engine.EngineSettings.OverloadPolicy;
+
+/**
+ * Dedicated, bounded executor for the work the {@link Engine} does for paid orders. Tasks that cannot be queued anymore
+ * are handled according to the configured {@link OverloadPolicy} so that a burst of payments cannot pile up an
+ * unbounded number of pending tasks. Preparations finished at the {@link Stations} are completed on a separate pool
+ * instead, which the {@link OverloadPolicy} never applies to, as dropping them would leave the affected orders in
+ * preparation. Exposes the queue depth, the number of active workers, the time tasks wait for execution and the number
+ * of rejections as metrics.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class EngineExecutor implements DisposableBean {
+
+	private static final String METRICS_PREFIX = "restbucks.engine.executor";
+
+	private final ExecutorSettings settings;
+	private final EngineTimer timer;
+	private final ThreadPoolExecutor executor;
+	private final ThreadPoolExecutor completions;
+	private final BlockingQueue<Runnable> retries;
+	private final AtomicBoolean retryScheduled = new AtomicBoolean();
+	private final MeterRegistry registry;
+	private final Timer waitTime;
+
+	/**
+	 * Creates a new {@link EngineExecutor} for the given {@link EngineSettings}, {@link EngineTimer} and
+	 * {@link MeterRegistry}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 * @param timer must not be {@literal null}.
+	 * @param registry must not be {@literal null}.
+	 * @param execution the execution mode as configured via {@code restbucks.execution}.
+	 */
+	EngineExecutor(EngineSettings settings, EngineTimer timer, MeterRegistry registry,
+			@Value("${restbucks.execution:platform}") String execution) {
+
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.notNull(timer, "EngineTimer must not be null!");
+		Assert.notNull(registry, "MeterRegistry must not be null!");
+
+		this.settings = settings.getExecutor();
+		this.timer = timer;
+		this.registry = registry;
+		this.retries = new ArrayBlockingQueue<>(this.settings.getRetryCapacity());
+
+		this.executor = new ThreadPoolExecutor(this.settings.getCoreSize(), this.settings.getMaxSize(), 60,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<>(this.settings.getQueueCapacity()),
+				threadFactory("engine-", execution), new ThreadPoolExecutor.AbortPolicy());
+
+		// Unbounded, as the number of pending completions is limited by the preparations the stations accepted
+		this.completions = new ThreadPoolExecutor(this.settings.getCoreSize(), this.settings.getCoreSize(), 0,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory("engine-completion-", execution));
+
+		Gauge.builder(METRICS_PREFIX + ".queued", executor, it -> it.getQueue().size())
+				.description("Number of tasks waiting for execution")
+				.register(registry);
+
+		Gauge.builder(METRICS_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+				.description("Number of workers currently executing tasks")
+				.register(registry);
+
+		Gauge.builder(METRICS_PREFIX + ".completions", completions, it -> it.getQueue().size())
+				.description("Number of finished preparations waiting to be completed")
+				.register(registry);
+
+		Gauge.builder(METRICS_PREFIX + ".retries", retries, BlockingQueue::size)
+				.description("Number of rejected tasks waiting to be retried")
+				.register(registry);
+
+		this.waitTime = Timer.builder(METRICS_PREFIX + ".wait")
+				.description("Time tasks wait for execution")
+				.register(registry);
+	}
+
+	/**
+	 * Executes the given task or applies the configured {@link OverloadPolicy} in case the executor is saturated.
+	 *
+	 * @param task must not be {@literal null}.
+	 */
+	void execute(Runnable task) {
+
+		Assert.notNull(task, "Task must not be null!");
+
+		var timed = timed(task);
+
+		try {
+			executor.execute(timed);
+		} catch (RejectedExecutionException o_O) {
+			reject(task, timed);
+		}
+	}
+
+	/**
+	 * Executes the given task if the executor has capacity left. Unlike {@link #execute(Runnable)}, the configured
+	 * {@link OverloadPolicy} is not applied, so that the task is never run by the caller.
+	 *
+	 * @param task must not be {@literal null}.
+	 * @return whether the task was accepted for execution.
+	 */
+	boolean tryExecute(Runnable task) {
+
+		Assert.notNull(task, "Task must not be null!");
+
+		try {
+
+			executor.execute(timed(task));
+
+			return true;
+
+		} catch (RejectedExecutionException o_O) {
+			return false;
+		}
+	}
+
+	/**
+	 * Completes a preparation finished at the {@link Stations} by running the given task on the dedicated completion
+	 * pool. The task is neither subject to the configured {@link OverloadPolicy} nor ever run by the caller, so that
+	 * finished preparations are never dropped and the {@link EngineTimer} is never blocked.
+	 *
+	 * @param task must not be {@literal null}.
+	 */
+	void complete(Runnable task) {
+
+		Assert.notNull(task, "Task must not be null!");
+
+		try {
+			completions.execute(guarded(task));
+		} catch (RejectedExecutionException o_O) {
+			LOG.warn("Engine executor already shut down, preparation will be resumed on restart.");
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() throws InterruptedException {
+
+		executor.shutdown();
+		completions.shutdown();
+
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+		completions.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Applies the configured {@link OverloadPolicy} to the given rejected task.
+	 *
+	 * @param task the original task, kept for a later retry.
+	 * @param timed the task wrapped to record its wait time and guard against exceptions, run by the caller.
+	 */
+	private void reject(Runnable task, Runnable timed) {
+
+		if (executor.isShutdown()) {
+
+			LOG.warn("Engine executor already shut down, dropping task.");
+			return;
+		}
+
+		switch (settings.getOverloadPolicy()) {
+
+			case CALLER_RUNS -> {
+				countRejection(OverloadPolicy.CALLER_RUNS);
+				timed.run();
+			}
+
+			case RETRY -> {
+
+				if (!retries.offer(task)) {
+					shed();
+					return;
+				}
+
+				countRejection(OverloadPolicy.RETRY);
+				scheduleRetry();
+			}
+
+			case SHED -> shed();
+		}
+	}
+
+	/**
+	 * Wraps the given task to record the time it waits for execution and to log exceptions instead of propagating them.
+	 *
+	 * @param task must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private Runnable timed(Runnable task) {
+
+		var submitted = System.nanoTime();
+		var guarded = guarded(task);
+
+		return () -> {
+
+			waitTime.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+			guarded.run();
+		};
+	}
+
+	/**
+	 * Wraps the given task to log exceptions instead of propagating them.
+	 *
+	 * @param task must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private static Runnable guarded(Runnable task) {
+
+		return () -> {
+
+			try {
+				task.run();
+			} catch (RuntimeException o_O) {
+				LOG.error("Failed to execute engine task!", o_O);
+			}
+		};
+	}
+
+	private static ThreadFactory threadFactory(String prefix, String execution) {
+
+		return "virtual".equals(execution)
+				? VirtualThreads.threadFactory(prefix)
+				: new CustomizableThreadFactory(prefix);
+	}
+
+	private void shed() {
+
+		countRejection(OverloadPolicy.SHED);
+
+		LOG.warn("Engine executor saturated, shedding task.");
+	}
+
+	private void scheduleRetry() {
+
+		if (retryScheduled.compareAndSet(false, true)) {
+			timer.schedule(this::retry, settings.getRetryDelay());
+		}
+	}
+
+	private void retry() {
+
+		retryScheduled.set(false);
+
+		Runnable task;
+
+		while (executor.getQueue().remainingCapacity() > 0 && (task = retries.poll()) != null) {
+			execute(task);
+		}
+
+		if (!retries.isEmpty()) {
+			scheduleRetry();
+		}
+	}
+
+	private void countRejection(OverloadPolicy policy) {
+
+		Counter.builder(METRICS_PREFIX + ".rejected")
+				.description("Number of tasks rejected by the saturated executor")
+				.tag("policy", policy.name())
+				.register(registry)
+				.increment();
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.OrderPosition;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Resumes the preparation of {@link Order}s that were in preparation when the application was shut down. As the state
+ * of the {@link Engine} is only kept in memory, those {@link Order}s would otherwise never be prepared. Paid
+ * {@link Order}s don't need to be recovered as they're still waiting in the {@link Outbox}. The {@link Order}s are
+ * loaded page by page so that a large backlog doesn't have to be held in memory at once. The {@link OutboxDispatcher}
+ * is only started once the recovery has finished so that {@link Order}s it marks as in preparation are not picked up
+ * by the recovery, too.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class EngineRecovery {
+
+	private static final List<Status> RECOVERABLE = List.of(Status.PREPARING);
+
+	private final @NonNull Orders orders;
+	private final @NonNull Engine engine;
+	private final @NonNull EngineSettings settings;
+	private final @NonNull OutboxDispatcher dispatcher;
+
+	@EventListener(ApplicationReadyEvent.class)
+	void recover() {
+
+		var recovery = settings.getRecovery();
+
+		if (recovery.isEnabled()) {
+			resumeOrdersInPreparation(recovery.getPageSize());
+		}
+
+		dispatcher.start();
+	}
+
+	private void resumeOrdersInPreparation(int pageSize) {
+
+		var resumed = 0;
+		OrderPosition position = null;
+		List<Order> page;
+
+		do {
+
+			page = orders.findAfter(position, RECOVERABLE, pageSize);
+
+			page.forEach(engine::resume);
+
+			if (!page.isEmpty()) {
+				position = OrderPosition.of(page.get(page.size() - 1));
+			}
+
+			resumed += page.size();
+
+		} while (page.size() == pageSize);
+
+		if (resumed > 0) {
+			LOG.info("Resumed processing of {} orders.", resumed);
+		}
+	}
+}
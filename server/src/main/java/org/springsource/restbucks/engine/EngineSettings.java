@@ -18,10 +18,14 @@ package org.springsource.restbucks.engine;
 import lombok.Value;
 
 import java.time.Duration;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.ConstructorBinding;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springsource.restbucks.order.LineItem;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Size;
 
 /**
  * Configuration settings for {@link Engine}.
@@ -34,14 +38,280 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 class EngineSettings {
 
 	/**
-	 * The duration for how the {@link Engine} is supposed to process the Order.
+	 * The default duration it takes to prepare a single drink. Can be overridden per {@link Size} and drink via
+	 * {@link #preparation}.
 	 */
 	private final Duration processingTime;
 
+	/**
+	 * The number of espresso stations preparing orders in parallel.
+	 */
+	private final int stations;
+
+	/**
+	 * The preparation times per {@link Size} and drink.
+	 */
+	private final PreparationSettings preparation;
+
+	/**
+	 * How to batch identical drinks of concurrent orders.
+	 */
+	private final BatchingSettings batching;
+
+	/**
+	 * How to recover orders that were paid or in preparation when the application was shut down.
+	 */
+	private final RecoverySettings recovery;
+
+	/**
+	 * How to dispatch paid orders from the outbox to the engine.
+	 */
+	private final OutboxSettings outbox;
+
+	/**
+	 * The number of threads backing the {@link EngineTimer}. They only fire state transitions, so a single one is
+	 * usually sufficient.
+	 */
+	private final int timerThreads;
+
+	/**
+	 * The settings for the {@link EngineExecutor}.
+	 */
+	private final ExecutorSettings executor;
+
 	/**
 	 * @param processingTime must not be {@literal null}.
+	 * @param stations must be greater than zero.
+	 * @param preparation must not be {@literal null}.
+	 * @param batching must not be {@literal null}.
+	 * @param recovery must not be {@literal null}.
+	 * @param outbox must not be {@literal null}.
+	 * @param timerThreads must be greater than zero.
+	 * @param executor must not be {@literal null}.
 	 */
-	public EngineSettings(@DefaultValue("2s") Duration processingTime) {
+	public EngineSettings(@DefaultValue("2s") Duration processingTime, @DefaultValue("4") int stations,
+			@DefaultValue PreparationSettings preparation, @DefaultValue BatchingSettings batching,
+			@DefaultValue RecoverySettings recovery, @DefaultValue OutboxSettings outbox,
+			@DefaultValue("1") int timerThreads, @DefaultValue ExecutorSettings executor) {
+
 		this.processingTime = processingTime;
+		this.stations = stations;
+		this.preparation = preparation;
+		this.batching = batching;
+		this.recovery = recovery;
+		this.outbox = outbox;
+		this.timerThreads = timerThreads;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the time it takes to prepare all drinks of the given {@link Order} at a single station.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Duration getPreparationTime(Order order) {
+
+		return order.getLineItems().stream()
+				.map(it -> getPreparationTime(it).multipliedBy(it.getQuantity()))
+				.reduce(Duration.ZERO, Duration::plus);
+	}
+
+	/**
+	 * Returns the time it takes to prepare a single drink of the given {@link LineItem}. Prefers the time configured for
+	 * the drink, then the one for the {@link Size} and falls back to the {@link #processingTime}.
+	 *
+	 * @param item must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Duration getPreparationTime(LineItem item) {
+
+		var drinks = preparation.getDrinks();
+		var sizes = preparation.getSizes();
+
+		return drinks.getOrDefault(item.getName(), sizes.getOrDefault(item.getSize(), processingTime));
+	}
+
+	/**
+	 * Preparation times per {@link Size} and drink name.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class PreparationSettings {
+
+		/**
+		 * The time it takes to prepare a drink of a given {@link Size}.
+		 */
+		Map<Size, Duration> sizes;
+
+		/**
+		 * The time it takes to prepare a particular drink, keyed by its name.
+		 */
+		Map<String, Duration> drinks;
+
+		public PreparationSettings(Map<Size, Duration> sizes, Map<String, Duration> drinks) {
+
+			this.sizes = sizes == null ? Map.of() : Map.copyOf(sizes);
+			this.drinks = drinks == null ? Map.of() : Map.copyOf(drinks);
+		}
+	}
+
+	/**
+	 * Settings for the {@link PreparationBatcher} grouping identical drinks of concurrent orders.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class BatchingSettings {
+
+		/**
+		 * How long to collect drinks before handing them to the stations. {@link Duration#ZERO} disables batching across
+		 * orders.
+		 */
+		Duration window;
+
+		/**
+		 * The maximum number of drinks to prepare in a single batch.
+		 */
+		int maxSize;
+
+		/**
+		 * The share of the preparation time every drink beyond the first one adds to a batch.
+		 */
+		double additionalDrinkFactor;
+
+		public BatchingSettings(@DefaultValue("250ms") Duration window, @DefaultValue("8") int maxSize,
+				@DefaultValue("0.3") double additionalDrinkFactor) {
+
+			this.window = window;
+			this.maxSize = maxSize;
+			this.additionalDrinkFactor = additionalDrinkFactor;
+		}
+	}
+
+	/**
+	 * Settings for the {@link EngineRecovery}.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class RecoverySettings {
+
+		/**
+		 * Whether to resume the preparation of orders on startup.
+		 */
+		boolean enabled;
+
+		/**
+		 * The number of orders to load at a time.
+		 */
+		int pageSize;
+
+		public RecoverySettings(@DefaultValue("true") boolean enabled, @DefaultValue("100") int pageSize) {
+
+			this.enabled = enabled;
+			this.pageSize = pageSize;
+		}
+	}
+
+	/**
+	 * Settings for the {@link OutboxDispatcher}.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class OutboxSettings {
+
+		/**
+		 * The delay between two polls of the outbox.
+		 */
+		Duration pollInterval;
+
+		/**
+		 * The maximum number of entries to claim and dispatch in a single transaction.
+		 */
+		int batchSize;
+
+		public OutboxSettings(@DefaultValue("500ms") Duration pollInterval, @DefaultValue("50") int batchSize) {
+
+			this.pollInterval = pollInterval;
+			this.batchSize = batchSize;
+		}
+	}
+
+	/**
+	 * Settings for the bounded {@link EngineExecutor} that paid orders are handed to.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class ExecutorSettings {
+
+		/**
+		 * The number of threads to keep around. Also the number of threads completing finished preparations.
+		 */
+		int coreSize;
+
+		/**
+		 * The maximum number of threads to use once the queue is full.
+		 */
+		int maxSize;
+
+		/**
+		 * The number of tasks to queue before the {@link #overloadPolicy} kicks in.
+		 */
+		int queueCapacity;
+
+		/**
+		 * What to do with tasks that cannot be queued anymore.
+		 */
+		OverloadPolicy overloadPolicy;
+
+		/**
+		 * The number of rejected tasks to keep for a later retry if {@link OverloadPolicy#RETRY} is used.
+		 */
+		int retryCapacity;
+
+		/**
+		 * The delay after which tasks kept for retry are re-submitted.
+		 */
+		Duration retryDelay;
+
+		public ExecutorSettings(@DefaultValue("4") int coreSize, @DefaultValue("16") int maxSize,
+				@DefaultValue("1000") int queueCapacity, @DefaultValue("CALLER_RUNS") OverloadPolicy overloadPolicy,
+				@DefaultValue("10000") int retryCapacity, @DefaultValue("1s") Duration retryDelay) {
+
+			this.coreSize = coreSize;
+			this.maxSize = maxSize;
+			this.queueCapacity = queueCapacity;
+			this.overloadPolicy = overloadPolicy;
+			this.retryCapacity = retryCapacity;
+			this.retryDelay = retryDelay;
+		}
+	}
+
+	/**
+	 * How to deal with tasks submitted to a saturated {@link EngineExecutor}.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	enum OverloadPolicy {
+
+		/**
+		 * Executes the task in the submitting thread, slowing down the producer.
+		 */
+		CALLER_RUNS,
+
+		/**
+		 * Keeps the task in a bounded retry table and re-submits it later. Sheds it if the retry table is full, too.
+		 */
+		RETRY,
+
+		/**
+		 * Drops the task and only logs a warning. Finished preparations are never dropped as they are completed on a
+		 * dedicated pool of the {@link EngineExecutor}.
+		 */
+		SHED;
 	}
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Timer to trigger the state transitions of the {@link Engine} once a preparation step is supposed to be finished.
+ * Instead of parking a thread per order for the time of the preparation, we only keep a scheduled task around.
+ * Deliberately not exposed as {@link java.util.concurrent.Executor} bean to not interfere with Spring Boot's executor
+ * auto-configuration.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class EngineTimer implements DisposableBean {
+
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Creates a new {@link EngineTimer} for the given {@link EngineSettings}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 */
+	EngineTimer(EngineSettings settings) {
+
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.isTrue(settings.getTimerThreads() > 0, "Number of timer threads must be greater than zero!");
+
+		this.scheduler = Executors.newScheduledThreadPool(settings.getTimerThreads(),
+				new CustomizableThreadFactory("engine-timer-"));
+	}
+
+	/**
+	 * Schedules the given task to be executed after the given delay.
+	 *
+	 * @param task must not be {@literal null}.
+	 * @param delay must not be {@literal null}.
+	 * @return
+	 */
+	ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+
+		Assert.notNull(task, "Task must not be null!");
+		Assert.notNull(delay, "Delay must not be null!");
+
+		return scheduler.schedule(() -> {
+
+			try {
+				task.run();
+			} catch (RuntimeException o_O) {
+				LOG.error("Failed to execute scheduled engine task!", o_O);
+			}
+
+		}, delay.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Schedules the given task to be executed repeatedly with the given delay between the end of one execution and the
+	 * start of the next.
+	 *
+	 * @param task must not be {@literal null}.
+	 * @param delay must not be {@literal null}.
+	 * @return
+	 */
+	ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+
+		Assert.notNull(task, "Task must not be null!");
+		Assert.notNull(delay, "Delay must not be null!");
+
+		return scheduler.scheduleWithFixedDelay(() -> {
+
+			try {
+				task.run();
+			} catch (RuntimeException o_O) {
+				LOG.error("Failed to execute scheduled engine task!", o_O);
+			}
+
+		}, delay.toMillis(), delay.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+		scheduler.shutdownNow();
+	}
+}
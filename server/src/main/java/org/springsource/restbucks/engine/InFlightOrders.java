@@ -0,0 +1,211 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import lombok.Value;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.engine.Stations.Assignment;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+
+/**
+ * Registry of the {@link Order}s currently processed by the {@link Engine}. Only keeps the {@link OrderIdentifier}, the
+ * time processing started, the stage, the station the order was last assigned to and the time it is predicted to be
+ * ready, so that the engine's load can be inspected without holding on to the aggregates.
+ *
+ * @author Oliver Drotbohm
+ * @see InFlightOrdersEndpoint
+ */
+@Component
+class InFlightOrders {
+
+	static final List<Duration> AGE_BUCKETS = List.of(Duration.ofSeconds(10), Duration.ofSeconds(30),
+			Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+	private final Map<OrderIdentifier, InFlightOrder> orders = new ConcurrentHashMap<>();
+	private final Clock clock;
+
+	@Autowired
+	InFlightOrders() {
+		this(Clock.systemUTC());
+	}
+
+	InFlightOrders(Clock clock) {
+
+		Assert.notNull(clock, "Clock must not be null!");
+
+		this.clock = clock;
+	}
+
+	/**
+	 * Registers the {@link Order} with the given identifier as waiting to be batched.
+	 *
+	 * @param id must not be {@literal null}.
+	 */
+	void started(OrderIdentifier id) {
+
+		Assert.notNull(id, "Order identifier must not be null!");
+
+		orders.put(id, new InFlightOrder(clock.instant(), Stage.BATCHING, null, null));
+	}
+
+	/**
+	 * Records the {@link Order} with the given identifier to be prepared according to the given {@link Assignment}.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @param assignment must not be {@literal null}.
+	 */
+	void assigned(OrderIdentifier id, Assignment assignment) {
+
+		Assert.notNull(id, "Order identifier must not be null!");
+		Assert.notNull(assignment, "Assignment must not be null!");
+
+		orders.computeIfPresent(id, (__, it) -> new InFlightOrder(it.getStartedAt(), Stage.PREPARING,
+				assignment.getStation(), assignment.getReadyAt()));
+	}
+
+	/**
+	 * Removes the {@link Order} with the given identifier from the registry.
+	 *
+	 * @param id must not be {@literal null}.
+	 */
+	void finished(OrderIdentifier id) {
+
+		Assert.notNull(id, "Order identifier must not be null!");
+
+		orders.remove(id);
+	}
+
+	/**
+	 * Returns the {@link InFlightOrder} with the given identifier.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Optional<InFlightOrder> getOrder(OrderIdentifier id) {
+
+		Assert.notNull(id, "Order identifier must not be null!");
+
+		return Optional.ofNullable(orders.get(id));
+	}
+
+	/**
+	 * Returns a {@link Summary} of the current load.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Summary getSummary() {
+
+		var now = clock.instant();
+		var byStage = new EnumMap<Stage, Integer>(Stage.class);
+		var byStation = new TreeMap<Integer, Integer>();
+		var ages = new LinkedHashMap<String, Integer>();
+
+		AGE_BUCKETS.forEach(it -> ages.put(label("le_", it), 0));
+		ages.put(label("gt_", AGE_BUCKETS.get(AGE_BUCKETS.size() - 1)), 0);
+
+		for (Stage stage : Stage.values()) {
+			byStage.put(stage, 0);
+		}
+
+		for (InFlightOrder order : orders.values()) {
+
+			byStage.merge(order.getStage(), 1, Integer::sum);
+
+			if (order.getStation() != null) {
+				byStation.merge(order.getStation(), 1, Integer::sum);
+			}
+
+			ages.merge(bucketFor(Duration.between(order.getStartedAt(), now)), 1, Integer::sum);
+		}
+
+		return new Summary(byStage.values().stream().mapToInt(Integer::intValue).sum(), byStage, byStation, ages);
+	}
+
+	private static String bucketFor(Duration age) {
+
+		return AGE_BUCKETS.stream()
+				.filter(it -> age.compareTo(it) <= 0)
+				.findFirst()
+				.map(it -> label("le_", it))
+				.orElseGet(() -> label("gt_", AGE_BUCKETS.get(AGE_BUCKETS.size() - 1)));
+	}
+
+	private static String label(String prefix, Duration bucket) {
+		return prefix + bucket.toSeconds() + "s";
+	}
+
+	/**
+	 * The stages of an {@link Order} in flight.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	enum Stage {
+
+		/**
+		 * The drinks of the {@link Order} are waiting to be grouped into batches.
+		 */
+		BATCHING,
+
+		/**
+		 * The drinks of the {@link Order} are queued at or being prepared by a station.
+		 */
+		PREPARING;
+	}
+
+	/**
+	 * An {@link Order} in flight. The station and the predicted ready time are only available once the {@link Order} has
+	 * been assigned to a station.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class InFlightOrder {
+
+		Instant startedAt;
+		Stage stage;
+		Integer station;
+		Instant readyAt;
+	}
+
+	/**
+	 * Snapshot of the {@link Order}s in flight.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class Summary {
+
+		int total;
+		Map<Stage, Integer> stages;
+		Map<Integer, Integer> stations;
+		Map<String, Integer> ages;
+	}
+}
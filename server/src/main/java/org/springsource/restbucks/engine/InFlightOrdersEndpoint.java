@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+import org.springsource.restbucks.engine.InFlightOrders.InFlightOrder;
+import org.springsource.restbucks.engine.InFlightOrders.Summary;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+
+/**
+ * Actuator endpoint exposing the {@link Summary} of the {@link InFlightOrders} under {@code /actuator/engine} and the
+ * details of a single {@link InFlightOrder}, including the time it is predicted to be ready, under
+ * {@code /actuator/engine/{id}}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+@Endpoint(id = "engine")
+@RequiredArgsConstructor
+class InFlightOrdersEndpoint {
+
+	private final InFlightOrders orders;
+
+	@ReadOperation
+	public Summary inFlightOrders() {
+		return orders.getSummary();
+	}
+
+	@ReadOperation
+	public InFlightOrder inFlightOrder(@Selector UUID id) {
+		return orders.getOrder(OrderIdentifier.of(id)).orElse(null);
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import java.util.List;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springsource.restbucks.engine.OutboxEntry.OutboxEntryIdentifier;
+
+/**
+ * Repository to manage {@link OutboxEntry} instances.
+ *
+ * @author Oliver Drotbohm
+ */
+interface Outbox extends CrudRepository<OutboxEntry, OutboxEntryIdentifier> {
+
+	/**
+	 * Claims the oldest {@link OutboxEntry}s by locking them for the current transaction. Entries already locked by other
+	 * transactions are skipped, so that multiple dispatchers can drain the outbox concurrently.
+	 *
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2")) // LockOptions.SKIP_LOCKED
+	@Query("select e from OutboxEntry e order by e.createdDate")
+	@Transactional(propagation = Propagation.MANDATORY)
+	List<OutboxEntry> claim(Pageable pageable);
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.engine.EngineSettings.OutboxSettings;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.OrderPaid;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Transactional outbox for {@link OrderPaid} events. The events are written to the {@link Outbox} in the transaction
+ * marking the {@link Order} as paid. A poller regularly claims a batch of entries, marks the according {@link Order}s
+ * as in preparation and removes the entries in a single transaction before handing the {@link Order}s to the
+ * {@link Engine}. Polls are run by the {@link EngineExecutor}, so that an overloaded engine only delays the dispatch of
+ * entries but never loses them. A poll is skipped while the previous one is still draining the {@link Outbox} or the
+ * executor is saturated, so that polls neither compete for the same entries nor run on the {@link EngineTimer}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class OutboxDispatcher {
+
+	private final Outbox outbox;
+	private final Orders orders;
+	private final Engine engine;
+	private final EngineTimer timer;
+	private final EngineExecutor executor;
+	private final OutboxSettings settings;
+	private final TransactionTemplate transactions;
+	private final AtomicBoolean dispatching = new AtomicBoolean();
+
+	/**
+	 * Creates a new {@link OutboxDispatcher}.
+	 *
+	 * @param outbox must not be {@literal null}.
+	 * @param orders must not be {@literal null}.
+	 * @param engine must not be {@literal null}.
+	 * @param settings must not be {@literal null}.
+	 * @param timer must not be {@literal null}.
+	 * @param executor must not be {@literal null}.
+	 * @param transactionManager must not be {@literal null}.
+	 */
+	OutboxDispatcher(Outbox outbox, Orders orders, Engine engine, EngineSettings settings, EngineTimer timer,
+			EngineExecutor executor, PlatformTransactionManager transactionManager) {
+
+		Assert.notNull(outbox, "Outbox must not be null!");
+		Assert.notNull(orders, "Orders must not be null!");
+		Assert.notNull(engine, "Engine must not be null!");
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.notNull(timer, "EngineTimer must not be null!");
+		Assert.notNull(executor, "EngineExecutor must not be null!");
+		Assert.notNull(transactionManager, "PlatformTransactionManager must not be null!");
+
+		this.outbox = outbox;
+		this.orders = orders;
+		this.engine = engine;
+		this.settings = settings.getOutbox();
+		this.timer = timer;
+		this.executor = executor;
+		this.transactions = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Writes an {@link OutboxEntry} for the given {@link OrderPaid} event. Deliberately not a
+	 * {@link org.springframework.transaction.event.TransactionalEventListener} so that the entry is written in the
+	 * transaction the event was published in.
+	 *
+	 * @param event must not be {@literal null}.
+	 */
+	@EventListener
+	void on(OrderPaid event) {
+		outbox.save(new OutboxEntry(event));
+	}
+
+	/**
+	 * Starts polling the {@link Outbox}.
+	 */
+	void start() {
+
+		LOG.info("Polling outbox every {}.", settings.getPollInterval());
+
+		timer.scheduleWithFixedDelay(this::poll, settings.getPollInterval());
+	}
+
+	/**
+	 * Hands a dispatch to the {@link EngineExecutor} unless one is still in progress or the executor is saturated.
+	 */
+	void poll() {
+
+		if (!dispatching.compareAndSet(false, true)) {
+			return;
+		}
+
+		var accepted = executor.tryExecute(() -> {
+
+			try {
+				dispatch();
+			} finally {
+				dispatching.set(false);
+			}
+		});
+
+		if (!accepted) {
+
+			dispatching.set(false);
+
+			LOG.debug("Engine executor saturated, skipping outbox poll.");
+		}
+	}
+
+	/**
+	 * Dispatches batches of {@link OutboxEntry}s until the {@link Outbox} is drained.
+	 */
+	void dispatch() {
+
+		int dispatched;
+
+		do {
+
+			var claimed = new ArrayList<Order>();
+
+			dispatched = transactions.execute(__ -> claim(claimed));
+			claimed.forEach(engine::prepare);
+
+		} while (dispatched == settings.getBatchSize());
+	}
+
+	/**
+	 * Claims a batch of {@link OutboxEntry}s, marks the according {@link Order}s as in preparation and removes the
+	 * entries. {@link Order}s not paid anymore are skipped.
+	 *
+	 * @param claimed the list to collect the {@link Order}s to be prepared in.
+	 * @return the number of {@link OutboxEntry}s claimed.
+	 */
+	private int claim(List<Order> claimed) {
+
+		var entries = outbox.claim(PageRequest.of(0, settings.getBatchSize()));
+
+		if (entries.isEmpty()) {
+			return 0;
+		}
+
+		entries.stream()
+				.map(it -> orders.findById(it.getOrder().getId()))
+				.flatMap(Optional::stream)
+				.filter(it -> it.getStatus() == Status.PAID)
+				.map(it -> orders.markInPreparation(it.getId()))
+				.forEach(claimed::add);
+
+		outbox.deleteAll(entries);
+
+		LOG.debug("Dispatched {} outbox entries.", entries.size());
+
+		return entries.size();
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import javax.persistence.Column;
+
+import org.jmolecules.ddd.types.AggregateRoot;
+import org.jmolecules.ddd.types.Association;
+import org.jmolecules.ddd.types.Identifier;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.core.Identifiers;
+import org.springsource.restbucks.engine.OutboxEntry.OutboxEntryIdentifier;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+import org.springsource.restbucks.order.OrderPaid;
+
+/**
+ * An {@link OrderPaid} event waiting to be dispatched to the {@link Engine}. Written in the same transaction that marks
+ * the {@link Order} as paid so that the event cannot get lost.
+ *
+ * @author Oliver Drotbohm
+ * @see OutboxDispatcher
+ */
+@Getter
+@ToString
+@NoArgsConstructor(force = true)
+class OutboxEntry implements AggregateRoot<OutboxEntry, OutboxEntryIdentifier> {
+
+	private final OutboxEntryIdentifier id;
+
+	@Column(name = "rborder", columnDefinition = "uuid") //
+	private final Association<Order, OrderIdentifier> order;
+	private final LocalDateTime createdDate;
+
+	/**
+	 * Creates a new {@link OutboxEntry} for the given {@link OrderPaid} event.
+	 *
+	 * @param event must not be {@literal null}.
+	 */
+	OutboxEntry(OrderPaid event) {
+
+		Assert.notNull(event, "OrderPaid must not be null!");
+
+		this.id = OutboxEntryIdentifier.of(Identifiers.next());
+		this.order = Association.forId(event.getOrderId());
+		this.createdDate = LocalDateTime.now();
+	}
+
+	@Value(staticConstructor = "of")
+	static class OutboxEntryIdentifier implements Identifier {
+		@Column(columnDefinition = "uuid") UUID id;
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.util.Assert;
+import org.springsource.restbucks.drinks.Drink.DrinkIdentifier;
+import org.springsource.restbucks.engine.EngineSettings.BatchingSettings;
+import org.springsource.restbucks.engine.Stations.Assignment;
+import org.springsource.restbucks.order.LineItem;
+import org.springsource.restbucks.order.Order;
+
+/**
+ * Collects the {@link LineItem}s of paid {@link Order}s for a short time window and groups them by the drink they
+ * refer to. Each group is then prepared as a single batch at one of the {@link Stations}, which takes less time than
+ * preparing the drinks one by one. Once all batches an {@link Order} takes part in are finished, the {@link Order} is
+ * handed to the completion callback together with all other {@link Order}s completed by the same batch.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+class PreparationBatcher {
+
+	private final EngineSettings settings;
+	private final BatchingSettings batching;
+	private final Stations stations;
+	private final EngineTimer timer;
+	private final InFlightOrders inFlight;
+	private final Consumer<Collection<Order>> completion;
+
+	private final Map<DrinkIdentifier, Batch> pending = new LinkedHashMap<>();
+	private boolean flushScheduled;
+
+	/**
+	 * Creates a new {@link PreparationBatcher} for the given {@link EngineSettings}, {@link Stations},
+	 * {@link EngineTimer} and {@link InFlightOrders}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 * @param stations must not be {@literal null}.
+	 * @param timer must not be {@literal null}.
+	 * @param inFlight must not be {@literal null}.
+	 * @param completion the callback to invoke with the {@link Order}s whose drinks have all been prepared, must not be
+	 *          {@literal null}.
+	 */
+	PreparationBatcher(EngineSettings settings, Stations stations, EngineTimer timer, InFlightOrders inFlight,
+			Consumer<Collection<Order>> completion) {
+
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.notNull(stations, "Stations must not be null!");
+		Assert.notNull(timer, "EngineTimer must not be null!");
+		Assert.notNull(inFlight, "InFlightOrders must not be null!");
+		Assert.notNull(completion, "Completion callback must not be null!");
+
+		this.settings = settings;
+		this.batching = settings.getBatching();
+		this.stations = stations;
+		this.timer = timer;
+		this.inFlight = inFlight;
+		this.completion = completion;
+	}
+
+	/**
+	 * Registers the {@link LineItem}s of the given {@link Order} for preparation with the next batches.
+	 *
+	 * @param order must not be {@literal null}.
+	 */
+	void submit(Order order) {
+
+		Assert.notNull(order, "Order must not be null!");
+
+		if (order.getLineItems().isEmpty()) {
+			completion.accept(List.of(order));
+			return;
+		}
+
+		var pendingOrder = new PendingOrder(order);
+		var full = new ArrayList<Batch>();
+		var scheduleFlush = false;
+
+		synchronized (this) {
+
+			for (LineItem item : order.getLineItems()) {
+
+				var drink = item.getDrink().getId();
+				var batch = pending.computeIfAbsent(drink, __ -> new Batch(settings.getPreparationTime(item)));
+
+				batch.add(pendingOrder, item.getQuantity());
+
+				if (batch.quantity >= batching.getMaxSize()) {
+					full.add(pending.remove(drink));
+				}
+			}
+
+			if (!pending.isEmpty() && !flushScheduled) {
+				flushScheduled = scheduleFlush = true;
+			}
+		}
+
+		full.forEach(this::prepare);
+
+		if (!scheduleFlush) {
+			return;
+		}
+
+		if (batching.getWindow().isZero()) {
+			flush();
+		} else {
+			timer.schedule(this::flush, batching.getWindow());
+		}
+	}
+
+	/**
+	 * Hands all currently pending batches to the {@link Stations}.
+	 */
+	void flush() {
+
+		List<Batch> batches;
+
+		synchronized (this) {
+
+			batches = new ArrayList<>(pending.values());
+			pending.clear();
+			flushScheduled = false;
+		}
+
+		batches.forEach(this::prepare);
+	}
+
+	private void prepare(Batch batch) {
+
+		var duration = batch.getDuration(batching.getAdditionalDrinkFactor());
+		var assignment = stations.submit(duration, it -> assigned(batch, it), () -> finish(batch));
+
+		assigned(batch, assignment);
+
+		LOG.info("Preparing batch of {} drinks for {} orders at station {} taking {}, predicted to be ready at {}.",
+				batch.quantity, batch.orders.size(), assignment.getStation(), duration, assignment.getReadyAt());
+	}
+
+	private void assigned(Batch batch, Assignment assignment) {
+		batch.orders.forEach(it -> inFlight.assigned(it.order.getId(), assignment));
+	}
+
+	private void finish(Batch batch) {
+
+		var completed = new ArrayList<Order>();
+
+		synchronized (this) {
+
+			for (PendingOrder order : batch.orders) {
+				if (--order.remainingItems == 0) {
+					completed.add(order.order);
+				}
+			}
+		}
+
+		if (!completed.isEmpty()) {
+			completion.accept(completed);
+		}
+	}
+
+	/**
+	 * A group of drinks of the same kind prepared together.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@RequiredArgsConstructor
+	private static class Batch {
+
+		private final Duration preparationTime;
+		private final List<PendingOrder> orders = new ArrayList<>();
+		private int quantity;
+
+		void add(PendingOrder order, int quantity) {
+
+			this.orders.add(order);
+			this.quantity += quantity;
+
+			order.remainingItems++;
+		}
+
+		/**
+		 * Returns the time it takes to prepare the batch. The first drink takes the full preparation time, every additional
+		 * one the given fraction of it.
+		 *
+		 * @param additionalDrinkFactor
+		 * @return will never be {@literal null}.
+		 */
+		Duration getDuration(double additionalDrinkFactor) {
+
+			var factor = 1 + (quantity - 1) * additionalDrinkFactor;
+
+			return Duration.ofNanos(Math.round(preparationTime.toNanos() * factor));
+		}
+	}
+
+	/**
+	 * An {@link Order} waiting for the batches its {@link LineItem}s are prepared in.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@RequiredArgsConstructor
+	private static class PendingOrder {
+
+		private final Order order;
+		private int remainingItems;
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * The espresso stations of a store. Preparations are assigned to the station that is predicted to be available first
+ * and queued there. Once a station finishes a preparation it picks the next one from its own queue or steals one from
+ * the station with the longest queue. The stations don't block any threads but use the {@link EngineTimer} to get
+ * notified once a preparation is finished. The callbacks of finished preparations are completed by the
+ * {@link EngineExecutor} so that the timer is only used for timing and finished preparations are never dropped.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class Stations {
+
+	private final List<Station> stations;
+	private final EngineTimer timer;
+	private final EngineExecutor executor;
+	private final Clock clock;
+
+	/**
+	 * Creates a new {@link Stations} instance for the given {@link EngineSettings}, {@link EngineTimer} and
+	 * {@link EngineExecutor}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 * @param timer must not be {@literal null}.
+	 * @param executor must not be {@literal null}.
+	 */
+	@Autowired
+	Stations(EngineSettings settings, EngineTimer timer, EngineExecutor executor) {
+		this(settings, timer, executor, Clock.systemUTC());
+	}
+
+	Stations(EngineSettings settings, EngineTimer timer, EngineExecutor executor, Clock clock) {
+
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.isTrue(settings.getStations() > 0, "Number of stations must be greater than zero!");
+		Assert.notNull(timer, "EngineTimer must not be null!");
+		Assert.notNull(executor, "EngineExecutor must not be null!");
+		Assert.notNull(clock, "Clock must not be null!");
+
+		this.stations = IntStream.range(0, settings.getStations())
+				.mapToObj(Station::new)
+				.collect(Collectors.toUnmodifiableList());
+		this.timer = timer;
+		this.executor = executor;
+		this.clock = clock;
+	}
+
+	/**
+	 * Submits a preparation taking the given {@link Duration} to the station predicted to be available first. The
+	 * given callback is invoked once the preparation is finished.
+	 *
+	 * @param duration must not be {@literal null}.
+	 * @param callback must not be {@literal null}.
+	 * @return the {@link Assignment} of the preparation to a station, will never be {@literal null}.
+	 */
+	Assignment submit(Duration duration, Runnable callback) {
+		return submit(duration, __ -> {}, callback);
+	}
+
+	/**
+	 * Submits a preparation taking the given {@link Duration} to the station predicted to be available first. The
+	 * given listener is invoked with the new {@link Assignment} in case the preparation is stolen by another station,
+	 * the callback once the preparation is finished.
+	 *
+	 * @param duration must not be {@literal null}.
+	 * @param reassigned must not be {@literal null}.
+	 * @param callback must not be {@literal null}.
+	 * @return the {@link Assignment} of the preparation to a station, will never be {@literal null}.
+	 */
+	synchronized Assignment submit(Duration duration, Consumer<Assignment> reassigned, Runnable callback) {
+
+		Assert.notNull(duration, "Duration must not be null!");
+		Assert.notNull(reassigned, "Reassignment listener must not be null!");
+		Assert.notNull(callback, "Callback must not be null!");
+
+		var now = clock.instant();
+		var station = stations.stream()
+				.min(Comparator.comparing((Station it) -> it.getAvailableAt(now)))
+				.orElseThrow();
+
+		var readyAt = station.getAvailableAt(now).plus(duration);
+		var preparation = new Preparation(duration, reassigned, callback);
+
+		if (station.isIdle()) {
+			start(station, preparation, now);
+		} else {
+			station.queue.addLast(preparation);
+		}
+
+		return new Assignment(station.index, readyAt);
+	}
+
+	/**
+	 * Returns the number of preparations currently waiting at the stations, excluding the ones in progress.
+	 *
+	 * @return the number of queued preparations.
+	 */
+	synchronized int getQueued() {
+		return stations.stream().mapToInt(it -> it.queue.size()).sum();
+	}
+
+	private void start(Station station, Preparation preparation, Instant now) {
+
+		station.current = preparation;
+		station.busyUntil = now.plus(preparation.duration);
+
+		LOG.debug("Station {} starts preparation taking {}.", station.index, preparation.duration);
+
+		timer.schedule(() -> finish(station), preparation.duration);
+	}
+
+	private void finish(Station station) {
+
+		Preparation finished;
+
+		synchronized (this) {
+
+			finished = station.current;
+			station.current = null;
+
+			var next = station.queue.pollFirst();
+			var stolen = next == null;
+
+			if (stolen) {
+				next = steal();
+			}
+
+			if (next != null) {
+
+				start(station, next, clock.instant());
+
+				if (stolen) {
+					next.reassigned.accept(new Assignment(station.index, station.busyUntil));
+				}
+			}
+		}
+
+		executor.complete(finished.callback);
+	}
+
+	/**
+	 * Takes the most recently queued preparation from the station with the longest queue.
+	 *
+	 * @return the stolen preparation or {@literal null} if there's nothing to steal.
+	 */
+	private Preparation steal() {
+
+		return stations.stream()
+				.filter(it -> !it.queue.isEmpty())
+				.max(Comparator.comparing((Station it) -> it.queue.size()))
+				.map(it -> {
+
+					LOG.debug("Stealing preparation from station {}.", it.index);
+
+					return it.queue.pollLast();
+				})
+				.orElse(null);
+	}
+
+	/**
+	 * The station a preparation was assigned to and the {@link Instant} it is predicted to be finished.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class Assignment {
+
+		int station;
+		Instant readyAt;
+	}
+
+	@RequiredArgsConstructor
+	private static class Station {
+
+		private final int index;
+		private final Deque<Preparation> queue = new ArrayDeque<>();
+		private Preparation current;
+		private Instant busyUntil = Instant.MIN;
+
+		boolean isIdle() {
+			return current == null;
+		}
+
+		/**
+		 * Returns the {@link Instant} the station is predicted to be able to start a newly queued preparation.
+		 *
+		 * @param now must not be {@literal null}.
+		 * @return
+		 */
+		Instant getAvailableAt(Instant now) {
+
+			var start = isIdle() || busyUntil.isBefore(now) ? now : busyUntil;
+
+			return queue.stream()
+					.map(it -> it.duration)
+					.reduce(start, Instant::plus, (left, right) -> left);
+		}
+	}
+
+	@RequiredArgsConstructor
+	private static class Preparation {
+
+		private final Duration duration;
+		private final Consumer<Assignment> reassigned;
+		private final Runnable callback;
+	}
+}
@@ -15,6 +15,7 @@
  */
 package org.springsource.restbucks.order;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Value;
@@ -22,10 +23,14 @@ import lombok.Value;
 import java.util.UUID;
 
 import javax.money.MonetaryAmount;
+import javax.persistence.AttributeOverride;
+import javax.persistence.Column;
 
 import org.jmolecules.ddd.types.Association;
 import org.jmolecules.ddd.types.Entity;
 import org.jmolecules.ddd.types.Identifier;
+import org.springsource.restbucks.core.Amount;
+import org.springsource.restbucks.core.Identifiers;
 import org.springsource.restbucks.drinks.Drink;
 import org.springsource.restbucks.drinks.Drink.DrinkIdentifier;
 import org.springsource.restbucks.order.LineItem.LineItemIdentifier;
@@ -43,21 +48,35 @@ public class LineItem implements Entity<Order, LineItemIdentifier> {
 	private final String name;
 	private final Milk milk;
 	private final Size size;
-	private final MonetaryAmount price;
+
+	@AttributeOverride(name = "minorUnits", column = @Column(name = "price_minor_units")) //
+	@AttributeOverride(name = "currency", column = @Column(name = "price_currency", length = 3)) //
+	private final @Getter(AccessLevel.PACKAGE) Amount unitPrice;
+
+	@Column(columnDefinition = "uuid") //
 	private final Association<Drink, DrinkIdentifier> drink;
 	private int quantity;
 
 	public LineItem(Drink drink) {
 
-		this.id = LineItemIdentifier.of(UUID.randomUUID().toString());
+		this.id = LineItemIdentifier.of(Identifiers.next());
 		this.name = drink.getName();
 		this.quantity = 1;
 		this.milk = drink.getMilk();
 		this.size = drink.getSize();
-		this.price = drink.getPrice();
+		this.unitPrice = drink.getAmount();
 		this.drink = Association.forAggregate(drink);
 	}
 
+	/**
+	 * Returns the price of a single drink of the {@link LineItem}.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public MonetaryAmount getPrice() {
+		return unitPrice.toMonetaryAmount();
+	}
+
 	boolean refersTo(Drink drink) {
 		return this.drink.getId().equals(drink.getId());
 	}
@@ -69,6 +88,6 @@ public class LineItem implements Entity<Order, LineItemIdentifier> {
 
 	@Value(staticConstructor = "of")
 	public static class LineItemIdentifier implements Identifier {
-		String id;
+		@Column(columnDefinition = "uuid") UUID id;
 	}
 }
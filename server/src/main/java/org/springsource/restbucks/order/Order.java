@@ -15,6 +15,7 @@
  */
 package org.springsource.restbucks.order;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.Value;
@@ -27,14 +28,19 @@ import java.util.UUID;
 
 import javax.money.MonetaryAmount;
 import javax.persistence.Column;
+import javax.persistence.Index;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OrderColumn;
 import javax.persistence.Table;
 import javax.persistence.Version;
 
-import org.javamoney.moneta.Money;
 import org.jmolecules.ddd.types.AggregateRoot;
 import org.jmolecules.ddd.types.Identifier;
 import org.springframework.data.domain.AbstractAggregateRoot;
+import org.springsource.restbucks.core.Amount;
+import org.springsource.restbucks.core.Currencies;
+import org.springsource.restbucks.core.Identifiers;
 import org.springsource.restbucks.drinks.Drink;
 import org.springsource.restbucks.order.Order.OrderIdentifier;
 
@@ -45,15 +51,28 @@ import org.springsource.restbucks.order.Order.OrderIdentifier;
  */
 @Getter
 @ToString(exclude = "lineItems")
-@Table(name = "RBOrder")
+@NamedEntityGraph(name = Order.WITH_LINE_ITEMS, attributeNodes = @NamedAttributeNode("lineItems"))
+@Table(name = "RBOrder", indexes = @Index(name = "rborder_status_ordered_date", columnList = "status, orderedDate"))
 public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot<Order, OrderIdentifier> {
 
+	/**
+	 * The name of the entity graph to load an {@link Order} with its {@link LineItem}s in a single query.
+	 */
+	public static final String WITH_LINE_ITEMS = "Order.lineItems";
+
 	private final OrderIdentifier id;
 	private final Location location;
 	private final LocalDateTime orderedDate;
 	private Status status;
+	private LocalDateTime preparationStartedDate;
 	private @Version Long version;
 
+	/**
+	 * The total price of all {@link LineItem}s, maintained on every change to the {@link LineItem}s so that the price
+	 * doesn't have to be calculated on access.
+	 */
+	private @Getter(AccessLevel.NONE) Amount total;
+
 	@OrderColumn //
 	@Column(unique = true) //
 	private final List<LineItem> lineItems = new ArrayList<>();
@@ -66,11 +85,14 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 	 */
 	public Order(Collection<LineItem> lineItems, Location location) {
 
-		this.id = OrderIdentifier.of(UUID.randomUUID().toString());
+		this.id = OrderIdentifier.of(Identifiers.next());
 		this.location = location == null ? Location.TAKE_AWAY : location;
 		this.status = Status.PAYMENT_EXPECTED;
 		this.lineItems.addAll(lineItems);
 		this.orderedDate = LocalDateTime.now();
+		this.total = lineItems.stream()
+				.reduce(Amount.zero(Currencies.EURO), (sum, it) -> add(sum, it.getUnitPrice(), it.getQuantity()),
+						Amount::add);
 	}
 
 	/**
@@ -87,19 +109,26 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 	}
 
 	/**
-	 * Returns the price of the {@link Order} calculated from the contained items.
+	 * Returns the total price of the {@link Order}, i.e. the price of all contained items multiplied by their quantity.
 	 *
 	 * @return will never be {@literal null}.
 	 */
 	public MonetaryAmount getPrice() {
-
-		return lineItems.stream().//
-				map(LineItem::getPrice).//
-				reduce(MonetaryAmount::add).orElse(Money.of(0.0, "EUR"));
+		return total.toMonetaryAmount();
 	}
 
+	/**
+	 * Adds the given {@link Drink} to the {@link Order}. The new total is calculated upfront, so that a {@link Drink}
+	 * priced in a currency different from the one of the {@link Order} is rejected without changing the {@link Order}.
+	 *
+	 * @param drink must not be {@literal null}.
+	 * @return the {@link Order} itself.
+	 * @throws IllegalArgumentException in case the price of the {@link Drink} is in a different currency.
+	 */
 	public Order add(Drink drink) {
 
+		var newTotal = add(total, drink.getAmount(), 1);
+
 		lineItems.stream()
 				.filter(it -> it.refersTo(drink))
 				.findFirst()
@@ -112,9 +141,15 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 					return item;
 				});
 
+		this.total = newTotal;
+
 		return this;
 	}
 
+	private static Amount add(Amount total, Amount price, int quantity) {
+		return total.add(price.multiply(quantity));
+	}
+
 	/**
 	 * Marks the {@link Order} as payed.
 	 */
@@ -142,6 +177,9 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 		}
 
 		this.status = Status.PREPARING;
+		this.preparationStartedDate = LocalDateTime.now();
+
+		registerEvent(new OrderStatusChanged(id, status));
 
 		return this;
 	}
@@ -158,6 +196,8 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 
 		this.status = Status.READY;
 
+		registerEvent(new OrderStatusChanged(id, status));
+
 		return this;
 	}
 
@@ -170,6 +210,8 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 
 		this.status = Status.TAKEN;
 
+		registerEvent(new OrderStatusChanged(id, status));
+
 		return this;
 	}
 
@@ -230,6 +272,6 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 
 	@Value(staticConstructor = "of")
 	public static class OrderIdentifier implements Identifier {
-		String id;
+		@Column(columnDefinition = "uuid") UUID id;
 	}
 }
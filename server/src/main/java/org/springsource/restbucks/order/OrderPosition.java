@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The position of an {@link Order} in the list of all {@link Order}s sorted by their ordered date and identifier. Used
+ * to continue iterating over {@link Order}s after a given one without having to skip the ones already seen.
+ *
+ * @author Oliver Drotbohm
+ * @see OrdersByPosition
+ */
+@Value(staticConstructor = "of")
+public class OrderPosition {
+
+	@NonNull LocalDateTime orderedDate;
+	@NonNull UUID id;
+
+	/**
+	 * Returns the {@link OrderPosition} of the given {@link Order}.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static OrderPosition of(Order order) {
+		return of(order.getOrderedDate(), order.getId().getId());
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import org.jmolecules.event.types.DomainEvent;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+import org.springsource.restbucks.order.Order.Status;
+
+/**
+ * Event to be thrown when an {@link Order} has moved on in its preparation, i.e. started to be prepared, is ready to
+ * be taken or has been taken.
+ *
+ * @author Oliver Drotbohm
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class OrderStatusChanged implements DomainEvent {
+
+	private final OrderIdentifier orderId;
+	private final Status status;
+
+	/**
+	 * Creates a new {@link OrderStatusChanged}.
+	 *
+	 * @param orderId the id of the {@link Order} that changed its status.
+	 * @param status the new {@link Status} of the {@link Order}.
+	 */
+	public OrderStatusChanged(OrderIdentifier orderId, Status status) {
+
+		this.orderId = orderId;
+		this.status = status;
+	}
+}
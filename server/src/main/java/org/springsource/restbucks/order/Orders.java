@@ -15,12 +15,23 @@
  */
 package org.springsource.restbucks.order;
 
-import java.util.List;
+import static org.hibernate.jpa.QueryHints.*;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
 import org.jmolecules.spring.AssociationResolver;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 import org.springframework.transaction.annotation.Transactional;
 import org.springsource.restbucks.order.Order.OrderIdentifier;
 import org.springsource.restbucks.order.Order.Status;
@@ -31,16 +42,53 @@ import org.springsource.restbucks.order.Order.Status;
  * @author Oliver Gierke
  */
 @RepositoryRestResource(excerptProjection = OrderProjection.class)
-public interface Orders
-		extends AssociationResolver<Order, OrderIdentifier>, PagingAndSortingRepository<Order, OrderIdentifier> {
+public interface Orders extends AssociationResolver<Order, OrderIdentifier>,
+		PagingAndSortingRepository<Order, OrderIdentifier>, OrdersByPosition {
 
 	/**
-	 * Returns all {@link Order}s with the given {@link Status}.
+	 * Returns the {@link Order} with the given identifier, loading its {@link LineItem}s in the same query. Collections
+	 * of {@link Order}s load their {@link LineItem}s in batches instead (see
+	 * {@code hibernate.default_batch_fetch_size}) as fetching them eagerly doesn't play well with pagination.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return
+	 */
+	@Override
+	@EntityGraph(Order.WITH_LINE_ITEMS)
+	Optional<Order> findById(OrderIdentifier id);
+
+	/**
+	 * Returns a {@link Page} of {@link Order}s with the given {@link Status}.
 	 *
 	 * @param status must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
 	 * @return
 	 */
-	List<Order> findByStatus(@Param("status") Status status);
+	Page<Order> findByStatus(@Param("status") Status status, Pageable pageable);
+
+	/**
+	 * Returns all {@link Order}s with the given {@link Status} as {@link Stream} backed by a database cursor. Has to be
+	 * consumed inside a transaction and closed after use.
+	 *
+	 * @param status must not be {@literal null}.
+	 * @return
+	 */
+	@RestResource(exported = false)
+	@QueryHints({ //
+			@QueryHint(name = HINT_FETCH_SIZE, value = "100"), //
+			@QueryHint(name = HINT_READONLY, value = "true") //
+	})
+	Stream<Order> streamByStatus(Status status);
+
+	/**
+	 * Returns the version of the {@link Order} with the given identifier without loading the aggregate, e.g. to answer
+	 * conditional requests.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return
+	 */
+	@RestResource(exported = false)
+	Optional<OrderVersion> findVersionById(OrderIdentifier id);
 
 	/**
 	 * Marks the given {@link Order} as paid.
@@ -79,6 +127,17 @@ public interface Orders
 		return save(order.markPrepared());
 	}
 
+	/**
+	 * Marks all given {@link Order}s as prepared in a single transaction.
+	 *
+	 * @param orders must not be {@literal null}.
+	 * @return
+	 */
+	@Transactional
+	default Iterable<Order> markPrepared(Collection<Order> orders) {
+		return saveAll(orders.stream().map(Order::markPrepared).toList());
+	}
+
 	/**
 	 * Marks the given {@link Order} as taken.
 	 *
@@ -89,4 +148,14 @@ public interface Orders
 	default Order markTaken(Order order) {
 		return save(order.markTaken());
 	}
+
+	/**
+	 * Projection on the version of an {@link Order}.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	interface OrderVersion {
+
+		Long getVersion();
+	}
 }
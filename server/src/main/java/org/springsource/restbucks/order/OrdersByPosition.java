@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+import org.springsource.restbucks.order.Order.Status;
+
+/**
+ * Repository fragment to iterate over {@link Order}s by their {@link OrderPosition}, i.e. ordered by date and
+ * identifier. In contrast to offset based pagination, the cost of fetching a page does not grow with the number of
+ * {@link Order}s already seen and {@link Order}s changing their {@link Status} in between two calls do not cause others
+ * to be skipped.
+ *
+ * @author Oliver Drotbohm
+ */
+public interface OrdersByPosition {
+
+	/**
+	 * Returns at most {@code limit} {@link Order}s following the given {@link OrderPosition}.
+	 *
+	 * @param position the position to continue after, {@literal null} to start with the first {@link Order}.
+	 * @param statuses the {@link Status}es to restrict the result to, an empty collection to not restrict them.
+	 * @param limit the maximum number of {@link Order}s to return, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 */
+	List<Order> findAfter(@Nullable OrderPosition position, Collection<Status> statuses, int limit);
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.order.Order.Status;
+
+/**
+ * Criteria API based implementation of {@link OrdersByPosition}. Uses a keyset predicate on the ordered date and the
+ * identifier so that the database can seek to the position instead of skipping the preceding rows.
+ *
+ * @author Oliver Drotbohm
+ */
+@RequiredArgsConstructor
+class OrdersByPositionImpl implements OrdersByPosition {
+
+	private final EntityManager em;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springsource.restbucks.order.OrdersByPosition#findAfter(org.springsource.restbucks.order.OrderPosition, java.util.Collection, int)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Order> findAfter(@Nullable OrderPosition position, Collection<Status> statuses, int limit) {
+
+		Assert.notNull(statuses, "Statuses must not be null!");
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		var builder = em.getCriteriaBuilder();
+		var query = builder.createQuery(Order.class);
+		var root = query.from(Order.class);
+
+		Path<LocalDateTime> orderedDate = root.get("orderedDate");
+		Path<UUID> id = root.get("id").get("id");
+
+		var predicates = new ArrayList<Predicate>();
+
+		if (!statuses.isEmpty()) {
+			predicates.add(root.get("status").in(statuses));
+		}
+
+		if (position != null) {
+			predicates.add(builder.or(
+					builder.greaterThan(orderedDate, position.getOrderedDate()),
+					builder.and(builder.equal(orderedDate, position.getOrderedDate()),
+							builder.greaterThan(id, position.getId()))));
+		}
+
+		query.select(root)
+				.where(predicates.toArray(Predicate[]::new))
+				.orderBy(builder.asc(orderedDate), builder.asc(id));
+
+		return em.createQuery(query)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Answers conditional {@code GET} requests for {@link Order}s and their receipts with {@code 304 Not Modified} if the
+ * {@code If-None-Match} header matches the strong ETag derived from the {@link Order}'s version. The version is looked
+ * up via {@link Orders#findVersionById(OrderIdentifier)} so that neither the aggregate nor its line items have to be
+ * loaded and rendered to find out that the client's representation is still up to date. All other requests are
+ * handed to the actual handler, which renders the ETag for a full response.
+ *
+ * @author Oliver Drotbohm
+ */
+@RequiredArgsConstructor
+class ConditionalOrderRequestInterceptor implements HandlerInterceptor {
+
+	static final String[] PATTERNS = { "/orders/*", "/orders/*/receipt" };
+
+	private final @NonNull Orders orders;
+
+	/**
+	 * Returns the ETag for the given {@link Order} version.
+	 *
+	 * @param version must not be {@literal null}.
+	 * @return
+	 */
+	static String toETag(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.servlet.HandlerInterceptor#preHandle(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, java.lang.Object)
+	 */
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+		var method = HttpMethod.resolve(request.getMethod());
+
+		if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+			return true;
+		}
+
+		var candidates = Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH));
+		var id = getOrderId(request);
+
+		if (candidates.isEmpty() || id == null) {
+			return true;
+		}
+
+		var eTag = orders.findVersionById(id) //
+				.map(it -> toETag(it.getVersion())) //
+				.filter(it -> candidates.stream().anyMatch(candidate -> matches(candidate, it)));
+
+		if (eTag.isEmpty()) {
+			return true;
+		}
+
+		response.setStatus(HttpStatus.NOT_MODIFIED.value());
+		response.setHeader(HttpHeaders.ETAG, eTag.get());
+
+		return false;
+	}
+
+	private static OrderIdentifier getOrderId(HttpServletRequest request) {
+
+		var variables = (Map<?, ?>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		var id = variables == null ? null : variables.get("id");
+
+		if (!(id instanceof String value) || !StringUtils.hasText(value)) {
+			return null;
+		}
+
+		// Identifiers that aren't UUIDs can't match any Order, so let the handler answer the request
+		try {
+			return OrderIdentifier.of(UUID.fromString(value));
+		} catch (IllegalArgumentException o_O) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns whether the given {@code If-None-Match} header value matches the given ETag. Uses the weak comparison
+	 * mandated for {@code If-None-Match} by RFC 7232.
+	 *
+	 * @param header must not be {@literal null}.
+	 * @param eTag must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean matches(String header, String eTag) {
+
+		for (String candidate : StringUtils.commaDelimitedListToStringArray(header)) {
+
+			var trimmed = candidate.trim();
+
+			if (trimmed.equals("*") || (trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(eTag)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
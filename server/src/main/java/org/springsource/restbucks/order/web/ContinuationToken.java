@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.util.Assert;
+import org.springsource.restbucks.order.OrderPosition;
+
+/**
+ * Encodes an {@link OrderPosition} into an opaque, URL safe token to be handed out to clients and decodes it again.
+ *
+ * @author Oliver Drotbohm
+ */
+class ContinuationToken {
+
+	private static final String SEPARATOR = "|";
+
+	/**
+	 * Returns the token for the given {@link OrderPosition}.
+	 *
+	 * @param position must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static String encode(OrderPosition position) {
+
+		Assert.notNull(position, "OrderPosition must not be null!");
+
+		var source = position.getOrderedDate() + SEPARATOR + position.getId();
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the {@link OrderPosition} encoded in the given token.
+	 *
+	 * @param token must not be {@literal null}.
+	 * @return the {@link OrderPosition} or {@link Optional#empty()} in case the token is invalid.
+	 */
+	static Optional<OrderPosition> decode(String token) {
+
+		Assert.notNull(token, "Token must not be null!");
+
+		try {
+
+			var source = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			var index = source.indexOf(SEPARATOR);
+
+			if (index < 0) {
+				return Optional.empty();
+			}
+
+			var orderedDate = LocalDateTime.parse(source.substring(0, index));
+
+			return Optional.of(OrderPosition.of(orderedDate, UUID.fromString(source.substring(index + 1))));
+
+		} catch (IllegalArgumentException | DateTimeParseException o_O) {
+			return Optional.empty();
+		}
+	}
+}
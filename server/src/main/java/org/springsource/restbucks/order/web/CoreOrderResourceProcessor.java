@@ -15,13 +15,14 @@
  */
 package org.springsource.restbucks.order.web;
 
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
-
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.EntityLinks;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
+import org.springframework.hateoas.server.TypedEntityLinks;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
 import org.springsource.restbucks.order.Order;
 
 /**
@@ -31,13 +32,24 @@ import org.springsource.restbucks.order.Order;
  * @author Oliver Gierke
  */
 @Component
-@RequiredArgsConstructor
 class CoreOrderResourceProcessor implements RepresentationModelProcessor<EntityModel<Order>> {
 
 	public static final String CANCEL_REL = "cancel";
 	public static final String UPDATE_REL = "update";
 
-	private final @NonNull EntityLinks entityLinks;
+	private final TypedEntityLinks<Order> orderLinks;
+
+	/**
+	 * Creates a new {@link CoreOrderResourceProcessor} for the given {@link EntityLinks}.
+	 *
+	 * @param entityLinks must not be {@literal null}.
+	 */
+	CoreOrderResourceProcessor(EntityLinks entityLinks) {
+
+		Assert.notNull(entityLinks, "EntityLinks must not be null!");
+
+		this.orderLinks = entityLinks.forType(Order::getId);
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -46,12 +58,17 @@ class CoreOrderResourceProcessor implements RepresentationModelProcessor<EntityM
 	@Override
 	public EntityModel<Order> process(EntityModel<Order> resource) {
 
-		var typedEntityLinks = entityLinks.forType(Order::getId);
 		var order = resource.getContent();
-		var orderLink = typedEntityLinks.linkForItemResource(order);
 
-		return resource
-				.addIf(!order.isPaid(), () -> orderLink.withRel(CANCEL_REL))
-				.addIf(!order.isPaid(), () -> orderLink.withRel(UPDATE_REL));
+		if (order.isPaid()) {
+			return resource;
+		}
+
+		// Reuse the self link already present instead of re-creating the link to the order
+		var orderLink = resource.getLink(IanaLinkRelations.SELF)
+				.map(it -> it.expand().getHref())
+				.orElseGet(() -> orderLinks.linkForItemResource(order).withSelfRel().getHref());
+
+		return resource.add(Link.of(orderLink, CANCEL_REL), Link.of(orderLink, UPDATE_REL));
 	}
 }
@@ -23,9 +23,12 @@ import java.util.List;
 import javax.validation.constraints.NotNull;
 
 import org.springsource.restbucks.drinks.Drink;
+import org.springsource.restbucks.drinks.DrinkReferenceDeserializer;
 import org.springsource.restbucks.order.Location;
 import org.springsource.restbucks.order.Order;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
 /**
  * DTO to bind incoming request data.
  *
@@ -36,7 +39,7 @@ public class LocationAndDrinks {
 
 	@NotNull //
 	private Location location;
-	private List<Drink> drinks;
+	private @JsonDeserialize(contentUsing = DrinkReferenceDeserializer.class) List<Drink> drinks;
 
 	public Order toOrder() {
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import de.odrotbohm.spring.web.model.MappedPayloads;
+import lombok.Value;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.rest.webmvc.BasePathAwareController;
+import org.springframework.hateoas.server.EntityLinks;
+import org.springframework.hateoas.server.TypedEntityLinks;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Orders;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Places multiple {@link Order}s with a single request. Every {@link LocationAndDrinks} submitted is read, validated
+ * and mapped individually just like in {@link OrderController#placeOrder}, all valid ones are then stored in a single
+ * transaction so that Hibernate can batch the inserts (see {@code hibernate.jdbc.batch_size}). The response contains
+ * the outcome for each of the submitted items in the order they were submitted. Items that cannot be read, e.g. due
+ * to an unknown drink, are reported individually, too.
+ *
+ * @author Oliver Drotbohm
+ */
+@BasePathAwareController
+class OrderBatchController {
+
+	static final int MAX_BATCH_SIZE = 500;
+
+	private final Orders orders;
+	private final TypedEntityLinks<Order> links;
+	private final SpringValidatorAdapter validator;
+	private final ObjectMapper mapper;
+
+	/**
+	 * Creates a new {@link OrderBatchController} for the given {@link Orders}, {@link EntityLinks}, {@link Validator}
+	 * and the {@link MappingJackson2HttpMessageConverter} Spring Data REST uses to read request bodies.
+	 *
+	 * @param orders must not be {@literal null}.
+	 * @param links must not be {@literal null}.
+	 * @param validator must not be {@literal null}.
+	 * @param converter must not be {@literal null}.
+	 */
+	OrderBatchController(Orders orders, EntityLinks links, Validator validator,
+			@Qualifier("halJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter) {
+
+		Assert.notNull(orders, "Orders must not be null!");
+		Assert.notNull(links, "EntityLinks must not be null!");
+		Assert.notNull(validator, "Validator must not be null!");
+		Assert.notNull(converter, "MappingJackson2HttpMessageConverter must not be null!");
+
+		this.orders = orders;
+		this.links = links.forType(Order::getId);
+		this.validator = new SpringValidatorAdapter(validator);
+		this.mapper = converter.getObjectMapper();
+	}
+
+	/**
+	 * Places an {@link Order} for each of the given {@link LocationAndDrinks}. Answers with {@code 207 Multi-Status}
+	 * listing a {@code 201 Created} including the location of the new {@link Order} or a {@code 400 Bad Request}
+	 * including the validation or read errors for each of the submitted items.
+	 *
+	 * @param items must not be {@literal null}.
+	 * @return
+	 */
+	@PostMapping(path = "/orders/batch")
+	HttpEntity<?> placeOrders(@RequestBody List<JsonNode> items) {
+
+		if (items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		var placed = new LinkedHashMap<Integer, Order>();
+		var results = new ArrayList<ItemResult>(items.size());
+
+		for (int i = 0; i < items.size(); i++) {
+
+			var index = i;
+			LocationAndDrinks payload;
+
+			try {
+				payload = mapper.treeToValue(items.get(i), LocationAndDrinks.class);
+			} catch (JsonProcessingException | IllegalArgumentException o_O) {
+
+				results.add(ItemResult.unreadable(index, o_O));
+				continue;
+			}
+
+			if (payload == null) {
+
+				results.add(ItemResult.rejected(index, Map.of("message", "Item must not be null!")));
+				continue;
+			}
+
+			var errors = new BeanPropertyBindingResult(payload, "order");
+
+			validator.validate(payload, errors);
+
+			var response = MappedPayloads.of(payload, errors)
+					.mapIfValid(LocationAndDrinks::toOrder)
+					.concludeIfValid(it -> {
+						placed.put(index, it);
+						return ResponseEntity.status(HttpStatus.CREATED).build();
+					});
+
+			results.add(placed.containsKey(index) ? null : ItemResult.rejected(index, response.getBody()));
+		}
+
+		orders.saveAll(placed.values());
+
+		placed.forEach((index, order) -> results.set(index,
+				ItemResult.created(index, links.linkToItemResource(order).expand().toUri())));
+
+		return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(new BatchResult(results));
+	}
+
+	/**
+	 * The outcome of a batch of {@link Order}s placed.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class BatchResult {
+		List<ItemResult> results;
+	}
+
+	/**
+	 * The outcome of placing a single {@link Order} of a batch.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	@JsonInclude(Include.NON_NULL)
+	static class ItemResult {
+
+		int index;
+		int status;
+		URI location;
+		Object errors;
+
+		static ItemResult created(int index, URI location) {
+			return new ItemResult(index, HttpStatus.CREATED.value(), location, null);
+		}
+
+		static ItemResult rejected(int index, Object errors) {
+			return new ItemResult(index, HttpStatus.BAD_REQUEST.value(), null, errors);
+		}
+
+		static ItemResult unreadable(int index, Exception exception) {
+
+			var message = exception instanceof JsonProcessingException json
+					? json.getOriginalMessage()
+					: exception.getMessage();
+
+			return rejected(index, Map.of("message", message == null ? "Invalid item!" : message));
+		}
+	}
+}
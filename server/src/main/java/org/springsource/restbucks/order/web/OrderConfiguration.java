@@ -20,16 +20,20 @@ import java.util.Map;
 
 import javax.money.MonetaryAmount;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
 import org.springsource.restbucks.Mixins;
 import org.springsource.restbucks.order.LineItem;
 import org.springsource.restbucks.order.Location;
 import org.springsource.restbucks.order.Milk;
 import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Orders;
 import org.springsource.restbucks.order.Size;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * @author Oliver Drotbohm
@@ -50,11 +54,28 @@ class OrderConfiguration implements Mixins {
 		);
 	}
 
+	/**
+	 * Registers the {@link ConditionalOrderRequestInterceptor} for the {@link Order} and receipt resources. Declared as
+	 * {@link MappedInterceptor} so that it's picked up by both the Spring Data REST and the Spring MVC handler
+	 * mappings.
+	 *
+	 * @param orders must not be {@literal null}.
+	 * @return
+	 */
+	@Bean
+	MappedInterceptor conditionalOrderRequestInterceptor(Orders orders) {
+		return new MappedInterceptor(ConditionalOrderRequestInterceptor.PATTERNS,
+				new ConditionalOrderRequestInterceptor(orders));
+	}
+
 	@JsonAutoDetect(isGetterVisibility = JsonAutoDetect.Visibility.NONE)
 	static abstract class OrderMixin {
 
 		@JsonCreator
 		public OrderMixin(Collection<LineItem> lineItems, Location location) {}
+
+		@JsonIgnore
+		abstract Object getPreparationStartedDate();
 	}
 
 	static abstract class LineItemMixin {
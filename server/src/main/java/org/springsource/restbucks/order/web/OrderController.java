@@ -18,15 +18,27 @@ package org.springsource.restbucks.order.web;
 import de.odrotbohm.spring.web.model.MappedPayloads;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.data.rest.webmvc.BasePathAwareController;
 import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
+import org.springframework.data.rest.webmvc.support.RepositoryEntityLinks;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.core.EmbeddedWrappers;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.validation.Errors;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.OrderPosition;
 import org.springsource.restbucks.order.Orders;
 
 /**
@@ -36,7 +48,69 @@ import org.springsource.restbucks.order.Orders;
 @RequiredArgsConstructor
 public class OrderController {
 
+	private static final String CONTINUE = "continue";
+	private static final EmbeddedWrappers WRAPPERS = new EmbeddedWrappers(false);
+
 	private final Orders orders;
+	private final RepositoryEntityLinks entityLinks;
+	private final RepositoryRestConfiguration configuration;
+
+	/**
+	 * Custom handler method to page through the {@link Order}s by their position instead of an offset. Takes precedence
+	 * over the default collection resource unless a page number or sort order is requested explicitly. The
+	 * {@code next} link carries an opaque continuation token pointing to the last {@link Order} returned, so that the
+	 * cost of retrieving a page doesn't depend on how many {@link Order}s have been seen before.
+	 *
+	 * @param token the continuation token handed out with a previous page, {@literal null} for the first page.
+	 * @param size the number of {@link Order}s to return.
+	 * @param assembler
+	 * @return
+	 */
+	@GetMapping(path = "/orders", params = { "!page", "!sort" })
+	public HttpEntity<?> getOrders(@Nullable @RequestParam(name = CONTINUE, required = false) String token,
+			@Nullable @RequestParam(name = "size", required = false) Integer size,
+			PersistentEntityResourceAssembler assembler) {
+
+		OrderPosition position = null;
+
+		if (token != null) {
+
+			var decoded = ContinuationToken.decode(token);
+
+			if (decoded.isEmpty()) {
+				return ResponseEntity.badRequest().build();
+			}
+
+			position = decoded.get();
+		}
+
+		var limit = size == null || size < 1
+				? configuration.getDefaultPageSize()
+				: Math.min(size, configuration.getMaxPageSize());
+
+		// Look ahead one element to find out whether there's a next page
+		var result = orders.findAfter(position, List.of(), limit + 1);
+		var page = result.subList(0, Math.min(limit, result.size()));
+
+		List<?> content = page.isEmpty()
+				? List.of(WRAPPERS.emptyCollectionOf(Order.class))
+				: page.stream().map(assembler::toModel).toList();
+
+		var collection = UriComponentsBuilder.fromUri(entityLinks.linkFor(Order.class).toUri());
+		var model = CollectionModel.of(content, Link.of(collection.toUriString()));
+
+		if (result.size() > limit) {
+
+			var next = collection.cloneBuilder()
+					.queryParam(CONTINUE, ContinuationToken.encode(OrderPosition.of(page.get(page.size() - 1))))
+					.queryParam("size", limit)
+					.toUriString();
+
+			model.add(Link.of(next, IanaLinkRelations.NEXT));
+		}
+
+		return ResponseEntity.ok(model);
+	}
 
 	/**
 	 * Custom handler method to customize the creation of {@link Order}s.
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.OrderStatusChanged;
+
+/**
+ * Keeps track of the clients subscribed to status changes of {@link Order}s and pushes {@link OrderStatusChanged}
+ * events to them as server-sent events. The subscriptions are backed by {@link SseEmitter}s, i.e. asynchronous
+ * requests, so that waiting clients don't hold on to a request thread. Events are queued per subscriber once the
+ * transaction changing the {@link Order} has committed and sent to each subscriber by a task of its own, so that a slow
+ * or dead client neither holds up the engine nor the delivery to other clients. Subscribers failing to receive an event
+ * or falling behind by more than {@value #MAX_PENDING_EVENTS} events are dropped.
+ *
+ * @author Oliver Drotbohm
+ * @see OrderEventsController
+ */
+@Slf4j
+@Component
+class OrderEvents {
+
+	static final String EVENT_NAME = "status";
+	static final int MAX_PENDING_EVENTS = 32;
+
+	private final Map<OrderIdentifier, Set<Subscriber>> subscriptions = new ConcurrentHashMap<>();
+	private final Set<Subscriber> all = ConcurrentHashMap.newKeySet();
+	private final Duration timeout;
+	private final Executor executor;
+
+	/**
+	 * Creates a new {@link OrderEvents} for the given {@link OrderEventsSettings} sending events using the given
+	 * {@link Executor}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 * @param executor must not be {@literal null}.
+	 */
+	OrderEvents(OrderEventsSettings settings,
+			@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+
+		Assert.notNull(settings, "OrderEventsSettings must not be null!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		this.timeout = settings.getTimeout();
+		this.executor = executor;
+	}
+
+	/**
+	 * Subscribes to the status changes of the given {@link Order}. Immediately sends the current status so that clients
+	 * don't miss changes that happened before they subscribed. Subscriptions to {@link Order}s already taken are
+	 * completed right away as they won't change anymore.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	SseEmitter subscribe(Order order) {
+
+		Assert.notNull(order, "Order must not be null!");
+
+		var id = order.getId();
+		var subscriber = new Subscriber(new SseEmitter(timeout.toMillis()));
+
+		if (!order.isTaken()) {
+			subscriber.register(() -> unsubscribe(id, subscriber));
+			subscriptions.computeIfAbsent(id, __ -> ConcurrentHashMap.newKeySet()).add(subscriber);
+		}
+
+		subscriber.push(new StatusChange(id, order.getStatus()), order.isTaken());
+
+		return subscriber.emitter;
+	}
+
+	/**
+	 * Subscribes to the status changes of all {@link Order}s.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	SseEmitter subscribeAll() {
+
+		var subscriber = new Subscriber(new SseEmitter(timeout.toMillis()));
+
+		subscriber.register(() -> all.remove(subscriber));
+		all.add(subscriber);
+
+		return subscriber.emitter;
+	}
+
+	/**
+	 * Pushes the given {@link OrderStatusChanged} to all clients subscribed to the according {@link Order} or to all
+	 * {@link Order}s. Completes the subscriptions to a single {@link Order} once it has been taken.
+	 *
+	 * @param event must not be {@literal null}.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	void on(OrderStatusChanged event) {
+
+		var change = new StatusChange(event.getOrderId(), event.getStatus());
+		var taken = event.getStatus() == Status.TAKEN;
+		var subscribers = taken //
+				? subscriptions.remove(event.getOrderId()) //
+				: subscriptions.get(event.getOrderId());
+
+		if (subscribers != null) {
+			subscribers.forEach(it -> it.push(change, taken));
+		}
+
+		all.forEach(it -> it.push(change, false));
+	}
+
+	/**
+	 * Returns the number of currently open subscriptions.
+	 *
+	 * @return
+	 */
+	int getSubscriptionCount() {
+		return all.size() + subscriptions.values().stream().mapToInt(Set::size).sum();
+	}
+
+	private void unsubscribe(OrderIdentifier id, Subscriber subscriber) {
+		subscriptions.computeIfPresent(id, (__, it) -> it.remove(subscriber) && it.isEmpty() ? null : it);
+	}
+
+	/**
+	 * A client subscribed via an {@link SseEmitter}. Events are queued and sent one after another by a single task at a
+	 * time, so that the client receives them in order.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private class Subscriber {
+
+		private final SseEmitter emitter;
+		private final Queue<Delivery> pending = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private Runnable removal = () -> {};
+
+		Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		/**
+		 * Registers the given callback to remove the {@link Subscriber} once its {@link SseEmitter} is done or it is
+		 * dropped.
+		 *
+		 * @param removal must not be {@literal null}.
+		 */
+		void register(Runnable removal) {
+
+			this.removal = removal;
+
+			emitter.onCompletion(removal);
+			emitter.onTimeout(removal);
+			emitter.onError(__ -> removal.run());
+		}
+
+		/**
+		 * Queues the given {@link StatusChange} for delivery.
+		 *
+		 * @param change must not be {@literal null}.
+		 * @param complete whether to complete the subscription after the change has been sent.
+		 */
+		void push(StatusChange change, boolean complete) {
+
+			if (!pending.offer(new Delivery(change, complete))) {
+				drop(change, new IllegalStateException("Too many pending status changes!"));
+				return;
+			}
+
+			if (draining.compareAndSet(false, true)) {
+				executor.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+
+			do {
+
+				Delivery delivery;
+
+				while ((delivery = pending.poll()) != null) {
+
+					try {
+
+						emitter.send(SseEmitter.event() //
+								.name(EVENT_NAME) //
+								.data(delivery.getChange(), MediaType.APPLICATION_JSON));
+
+					} catch (IOException | IllegalStateException o_O) {
+
+						drop(delivery.getChange(), o_O);
+						break;
+					}
+
+					if (delivery.isComplete()) {
+						emitter.complete();
+					}
+				}
+
+				draining.set(false);
+
+			} while (!pending.isEmpty() && draining.compareAndSet(false, true));
+		}
+
+		private void drop(StatusChange change, Exception cause) {
+
+			LOG.debug("Failed to push status change {}, dropping subscription.", change, cause);
+
+			pending.clear();
+			removal.run();
+			emitter.completeWithError(cause);
+		}
+	}
+
+	@Value
+	private static class Delivery {
+
+		StatusChange change;
+		boolean complete;
+	}
+
+	/**
+	 * The payload of the events pushed to subscribers.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	static class StatusChange {
+
+		String order;
+		Status status;
+
+		StatusChange(OrderIdentifier order, Status status) {
+
+			this.order = order.getId().toString();
+			this.status = status;
+		}
+	}
+}
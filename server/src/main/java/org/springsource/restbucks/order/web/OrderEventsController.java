@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springsource.restbucks.order.Order;
+
+/**
+ * Spring MVC controller to expose status changes of {@link Order}s as server-sent events, so that clients waiting for
+ * their {@link Order} to be ready don't have to poll the {@link Order} resource.
+ *
+ * @author Oliver Drotbohm
+ * @see OrderEvents
+ */
+@Controller
+@RequestMapping("/orders")
+@RequiredArgsConstructor
+class OrderEventsController {
+
+	private final @NonNull OrderEvents events;
+
+	/**
+	 * Streams the status changes of the given {@link Order}, starting with its current status. The stream is completed
+	 * once the {@link Order} has been taken.
+	 *
+	 * @param order the {@link Order} to stream the status changes for, will be {@literal null} in case no {@link Order}
+	 *          with the given identifier could be found.
+	 * @return
+	 */
+	@GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	HttpEntity<SseEmitter> orderEvents(@PathVariable("id") Order order) {
+
+		return order == null //
+				? ResponseEntity.notFound().build() //
+				: ResponseEntity.ok(events.subscribe(order));
+	}
+
+	/**
+	 * Streams the status changes of all {@link Order}s.
+	 *
+	 * @return
+	 */
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	HttpEntity<SseEmitter> allEvents() {
+		return ResponseEntity.ok(events.subscribeAll());
+	}
+}
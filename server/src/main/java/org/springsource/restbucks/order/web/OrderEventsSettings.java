@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.Assert;
+
+/**
+ * Configuration settings for the server-sent {@link OrderEvents}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Value
+@ConstructorBinding
+@ConfigurationProperties("restbucks.orders.events")
+class OrderEventsSettings {
+
+	/**
+	 * How long to keep subscriptions open before clients have to reconnect.
+	 */
+	Duration timeout;
+
+	/**
+	 * @param timeout must not be {@literal null}.
+	 */
+	public OrderEventsSettings(@DefaultValue("30m") Duration timeout) {
+
+		Assert.notNull(timeout, "Timeout must not be null!");
+
+		this.timeout = timeout;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.rest.webmvc.BasePathAwareController;
+import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.server.RepresentationModelProcessor;
+import org.springframework.hateoas.server.mvc.RepresentationModelProcessorInvoker;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+import org.springsource.restbucks.order.Order;
+
+/**
+ * Serves HAL representations of individual {@link Order}s through the {@link PrecompiledOrderModel} if
+ * {@code restbucks.json.precompiled} is enabled. The representation is assembled and enriched by the
+ * {@link RepresentationModelProcessor}s just like the item resource exposed by Spring Data REST, which still serves
+ * all other media types.
+ *
+ * @author Oliver Drotbohm
+ */
+@BasePathAwareController
+@ConditionalOnProperty(name = "restbucks.json.precompiled", havingValue = "true")
+class PrecompiledOrderController {
+
+	private final RepresentationModelProcessorInvoker invoker;
+
+	/**
+	 * Creates a new {@link PrecompiledOrderController} for the given {@link RepresentationModelProcessor}s.
+	 *
+	 * @param processors must not be {@literal null}.
+	 */
+	PrecompiledOrderController(List<RepresentationModelProcessor<?>> processors) {
+
+		Assert.notNull(processors, "RepresentationModelProcessors must not be null!");
+
+		this.invoker = new RepresentationModelProcessorInvoker(processors);
+	}
+
+	@GetMapping(path = "/orders/{id}", produces = MediaTypes.HAL_JSON_VALUE)
+	HttpEntity<?> getOrder(@PathVariable("id") Order order, PersistentEntityResourceAssembler assembler,
+			WebRequest request) {
+
+		if (order == null) {
+			return ResponseEntity.notFound().build();
+		}
+
+		var resource = assembler.toFullResource(order);
+		var eTag = ETag.from(resource);
+
+		if (request.checkNotModified(eTag.toString())) {
+			return null;
+		}
+
+		var model = invoker.invokeProcessorsFor(resource);
+
+		return ResponseEntity.ok() //
+				.headers(eTag.addTo(new HttpHeaders())) //
+				.body(new PrecompiledOrderModel(model));
+	}
+}
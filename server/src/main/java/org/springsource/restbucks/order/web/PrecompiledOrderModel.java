@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springsource.restbucks.core.PrecompiledHalSerializer;
+import org.springsource.restbucks.order.LineItem;
+import org.springsource.restbucks.order.Order;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Wrapper around the {@link EntityModel} of an {@link Order} to render it using the hand-written
+ * {@link PrecompiledOrderSerializer} instead of the reflective serialization of Spring Data REST.
+ *
+ * @author Oliver Drotbohm
+ * @see PrecompiledOrderController
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@JsonSerialize(using = PrecompiledOrderModel.PrecompiledOrderSerializer.class)
+class PrecompiledOrderModel extends RepresentationModel<PrecompiledOrderModel> {
+
+	private final EntityModel<?> model;
+
+	/**
+	 * Writes the same HAL representation of an {@link Order} and its {@link LineItem}s as Spring Data REST does.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	static class PrecompiledOrderSerializer extends PrecompiledHalSerializer<PrecompiledOrderModel> {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final SerializedString LOCATION = new SerializedString("location");
+		private static final SerializedString ORDERED_DATE = new SerializedString("orderedDate");
+		private static final SerializedString STATUS = new SerializedString("status");
+		private static final SerializedString LINE_ITEMS = new SerializedString("lineItems");
+		private static final SerializedString PRICE = new SerializedString("price");
+		private static final SerializedString NAME = new SerializedString("name");
+		private static final SerializedString MILK = new SerializedString("milk");
+		private static final SerializedString SIZE = new SerializedString("size");
+		private static final SerializedString DRINK = new SerializedString("drink");
+		private static final SerializedString QUANTITY = new SerializedString("quantity");
+
+		PrecompiledOrderSerializer() {
+			super(PrecompiledOrderModel.class);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.std.StdSerializer#serialize(java.lang.Object, com.fasterxml.jackson.core.JsonGenerator, com.fasterxml.jackson.databind.SerializerProvider)
+		 */
+		@Override
+		public void serialize(PrecompiledOrderModel value, JsonGenerator generator, SerializerProvider provider)
+				throws IOException {
+
+			var model = value.getModel();
+			var order = (Order) model.getContent();
+
+			generator.writeStartObject();
+
+			writeField(LOCATION, order.getLocation(), generator, provider);
+			writeField(ORDERED_DATE, order.getOrderedDate(), generator, provider);
+			writeField(STATUS, order.getStatus(), generator, provider);
+
+			generator.writeFieldName(LINE_ITEMS);
+			generator.writeStartArray();
+
+			for (LineItem item : order.getLineItems()) {
+				writeLineItem(item, generator, provider);
+			}
+
+			generator.writeEndArray();
+
+			writeField(PRICE, order.getPrice(), generator, provider);
+			writeLinks(model.getLinks(), generator, provider);
+
+			generator.writeEndObject();
+		}
+
+		private static void writeLineItem(LineItem item, JsonGenerator generator, SerializerProvider provider)
+				throws IOException {
+
+			generator.writeStartObject();
+
+			generator.writeFieldName(NAME);
+			generator.writeString(item.getName());
+
+			writeField(MILK, item.getMilk(), generator, provider);
+			writeField(SIZE, item.getSize(), generator, provider);
+			writeField(PRICE, item.getPrice(), generator, provider);
+			writeField(DRINK, item.getDrink(), generator, provider);
+
+			generator.writeFieldName(QUANTITY);
+			generator.writeNumber(item.getQuantity());
+
+			generator.writeEndObject();
+		}
+	}
+}
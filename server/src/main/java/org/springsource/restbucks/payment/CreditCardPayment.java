@@ -23,7 +23,8 @@ import org.springframework.util.Assert;
 import org.springsource.restbucks.order.Order;
 
 /**
- * A {@link Payment} done through a {@link CreditCard}.
+ * A {@link Payment} done through a {@link CreditCard}. Pending until the payment was authorized at the
+ * {@link PaymentGateway}, from then on it carries the reference the card network assigned to the authorization.
  *
  * @author Oliver Gierke
  */
@@ -31,6 +32,7 @@ import org.springsource.restbucks.order.Order;
 public class CreditCardPayment extends Payment<CreditCardPayment> {
 
 	private final @ManyToOne CreditCard creditCard;
+	private String authorizationReference;
 
 	/**
 	 * Creates a new {@link CreditCardPayment} for the given {@link CreditCard} and {@link Order}.
@@ -46,4 +48,28 @@ public class CreditCardPayment extends Payment<CreditCardPayment> {
 
 		this.creditCard = creditCard;
 	}
+
+	/**
+	 * Records the reference of the {@link PaymentGateway.Authorization} that approved the payment.
+	 *
+	 * @param reference must not be {@literal null} or empty.
+	 * @return the current instance.
+	 */
+	CreditCardPayment authorized(String reference) {
+
+		Assert.hasText(reference, "Authorization reference must not be null or empty!");
+
+		this.authorizationReference = reference;
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springsource.restbucks.payment.Payment#isPending()
+	 */
+	@Override
+	public boolean isPending() {
+		return authorizationReference == null;
+	}
 }
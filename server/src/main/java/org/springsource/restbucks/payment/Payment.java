@@ -31,6 +31,7 @@ import org.jmolecules.ddd.types.AggregateRoot;
 import org.jmolecules.ddd.types.Association;
 import org.jmolecules.ddd.types.Identifier;
 import org.springframework.util.Assert;
+import org.springsource.restbucks.core.Identifiers;
 import org.springsource.restbucks.order.Order;
 import org.springsource.restbucks.order.Order.OrderIdentifier;
 import org.springsource.restbucks.payment.Payment.PaymentIdentifier;
@@ -49,7 +50,7 @@ public abstract class Payment<T extends AggregateRoot<T, PaymentIdentifier>>
 
 	private final PaymentIdentifier id;
 
-	@Column(name = "rborder") //
+	@Column(name = "rborder", columnDefinition = "uuid", unique = true) //
 	private final Association<Order, OrderIdentifier> order;
 	private final LocalDateTime paymentDate;
 
@@ -62,11 +63,21 @@ public abstract class Payment<T extends AggregateRoot<T, PaymentIdentifier>>
 
 		Assert.notNull(order, "Order must not be null!");
 
-		this.id = PaymentIdentifier.of(UUID.randomUUID().toString());
+		this.id = PaymentIdentifier.of(Identifiers.next());
 		this.order = Association.forAggregate(order);
 		this.paymentDate = LocalDateTime.now();
 	}
 
+	/**
+	 * Returns whether the {@link Payment} has been started but not completed yet. A pending {@link Payment} claims the
+	 * {@link Order} so that it can't be paid twice concurrently.
+	 *
+	 * @return
+	 */
+	public boolean isPending() {
+		return false;
+	}
+
 	/**
 	 * Returns a receipt for the {@link Payment}.
 	 *
@@ -90,6 +101,6 @@ public abstract class Payment<T extends AggregateRoot<T, PaymentIdentifier>>
 
 	@Value(staticConstructor = "of")
 	public static class PaymentIdentifier implements Identifier {
-		String id;
+		@Column(columnDefinition = "uuid") UUID id;
 	}
 }
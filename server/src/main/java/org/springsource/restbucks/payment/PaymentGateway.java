@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.payment;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.money.MonetaryAmount;
+
+import org.springframework.util.Assert;
+
+/**
+ * SPI to authorize card payments at an external card network and cancel authorizations again. Implementations are
+ * expected to not block the calling thread but return a {@link CompletableFuture} completed once the network has
+ * answered. {@link PaymentServiceImpl} calls the gateway outside of any database transaction and applies timeouts and
+ * a concurrency limit.
+ *
+ * @author Oliver Drotbohm
+ * @see SimulatedPaymentGateway
+ */
+public interface PaymentGateway {
+
+	/**
+	 * Authorizes a payment of the given amount with the {@link CreditCard} identified by the given
+	 * {@link CreditCardNumber}.
+	 *
+	 * @param number must not be {@literal null}.
+	 * @param amount must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	CompletableFuture<Authorization> authorize(CreditCardNumber number, MonetaryAmount amount);
+
+	/**
+	 * Cancels the approved {@link Authorization} with the given reference, releasing the amount reserved on the card.
+	 * Used if the payment can't be recorded after it was authorized.
+	 *
+	 * @param reference must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 */
+	CompletableFuture<Void> cancel(String reference);
+
+	/**
+	 * The answer of the card network to an authorization request.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Value
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	class Authorization {
+
+		boolean approved;
+		String reference, reason;
+
+		/**
+		 * Creates an approved {@link Authorization} with the given reference assigned by the card network.
+		 *
+		 * @param reference must not be {@literal null} or empty.
+		 * @return will never be {@literal null}.
+		 */
+		public static Authorization approved(String reference) {
+
+			Assert.hasText(reference, "Reference must not be null or empty!");
+
+			return new Authorization(true, reference, null);
+		}
+
+		/**
+		 * Creates a declined {@link Authorization} for the given reason.
+		 *
+		 * @param reason must not be {@literal null} or empty.
+		 * @return will never be {@literal null}.
+		 */
+		public static Authorization declined(String reason) {
+
+			Assert.hasText(reason, "Reason must not be null or empty!");
+
+			return new Authorization(false, null, reason);
+		}
+	}
+}
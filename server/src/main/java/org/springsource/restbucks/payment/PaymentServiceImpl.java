@@ -15,32 +15,87 @@
  */
 package org.springsource.restbucks.payment;
 
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.jmolecules.ddd.annotation.Service;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
 import org.springsource.restbucks.order.Order;
 import org.springsource.restbucks.order.Orders;
 import org.springsource.restbucks.payment.Payment.Receipt;
+import org.springsource.restbucks.payment.PaymentGateway.Authorization;
 
 /**
  * Implementation of {@link PaymentService} delegating persistence operations to {@link Payments} and
- * {@link CreditCards}.
+ * {@link CreditCards}. Payments are processed in stages so that no database connection is held while waiting for the
+ * card network: the {@link Order} is claimed by a pending {@link CreditCardPayment} in a first short transaction, the
+ * payment is authorized at the {@link PaymentGateway} outside of any transaction and the result is recorded in a second
+ * short transaction. If recording fails, e.g. as the {@link Order} was changed concurrently, the authorization is
+ * cancelled at the gateway. Calls to the gateway are limited to
+ * {@link PaymentSettings#getMaxConcurrentAuthorizations()} at a time and fail if no answer arrives within
+ * {@link PaymentSettings#getTimeout()}. Pending payments older than three times the timeout are considered abandoned.
  *
  * @author Oliver Gierke
  * @author Stéphane Nicoll
+ * @author Oliver Drotbohm
  */
+@Slf4j
 @Service
-@Transactional
-@RequiredArgsConstructor
 class PaymentServiceImpl implements PaymentService {
 
-	private final @NonNull CreditCards cards;
-	private final @NonNull Payments payments;
-	private final @NonNull Orders orders;
+	private final CreditCards cards;
+	private final Payments payments;
+	private final Orders orders;
+	private final PaymentGateway gateway;
+	private final Duration timeout, abandonedAfter;
+	private final Semaphore authorizations;
+	private final TransactionTemplate reads, writes;
+
+	/**
+	 * Creates a new {@link PaymentServiceImpl}.
+	 *
+	 * @param cards must not be {@literal null}.
+	 * @param payments must not be {@literal null}.
+	 * @param orders must not be {@literal null}.
+	 * @param gateway must not be {@literal null}.
+	 * @param settings must not be {@literal null}.
+	 * @param transactionManager must not be {@literal null}.
+	 */
+	PaymentServiceImpl(CreditCards cards, Payments payments, Orders orders, PaymentGateway gateway,
+			PaymentSettings settings, PlatformTransactionManager transactionManager) {
+
+		Assert.notNull(cards, "CreditCards must not be null!");
+		Assert.notNull(payments, "Payments must not be null!");
+		Assert.notNull(orders, "Orders must not be null!");
+		Assert.notNull(gateway, "PaymentGateway must not be null!");
+		Assert.notNull(settings, "PaymentSettings must not be null!");
+		Assert.notNull(transactionManager, "PlatformTransactionManager must not be null!");
+
+		this.cards = cards;
+		this.payments = payments;
+		this.orders = orders;
+		this.gateway = gateway;
+		this.timeout = settings.getTimeout();
+		this.abandonedAfter = timeout.multipliedBy(3);
+		this.authorizations = new Semaphore(settings.getMaxConcurrentAuthorizations());
+		this.reads = new TransactionTemplate(transactionManager);
+		this.reads.setReadOnly(true);
+		this.writes = new TransactionTemplate(transactionManager);
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -54,7 +109,7 @@ class PaymentServiceImpl implements PaymentService {
 		}
 
 		// Using Optional.orElseThrow(…) doesn't work due to https://bugs.openjdk.java.net/browse/JDK-8054569
-		var creditCard = cards.findByNumber(creditCardNumber)
+		var creditCard = reads.execute(__ -> cards.findByNumber(creditCardNumber))
 				.orElseThrow(() -> new PaymentFailed(order,
 						String.format("No credit card found for number: %s", creditCardNumber)));
 
@@ -63,9 +118,42 @@ class PaymentServiceImpl implements PaymentService {
 					creditCardNumber, creditCard.getExpirationDate()));
 		}
 
-		orders.markPaid(order);
+		var payment = claim(order, creditCard);
+		Authorization authorization;
+
+		try {
+			authorization = authorize(order, creditCard);
+		} catch (PaymentFailed o_O) {
+			release(payment);
+			throw o_O;
+		}
+
+		if (!authorization.isApproved()) {
+			release(payment);
+			throw new PaymentFailed(order, "Payment declined: %s!".formatted(authorization.getReason()));
+		}
+
+		var reference = authorization.getReference();
+
+		try {
+
+			return writes.execute(__ -> {
+
+				orders.markPaid(order);
+
+				return payments.save(payment.authorized(reference));
+			});
+
+		} catch (DataAccessException | TransactionException o_O) {
+
+			LOG.warn("Failed to record payment for order {}, cancelling authorization {}.", order.getId(), reference,
+					o_O);
 
-		return payments.save(new CreditCardPayment(creditCard, order));
+			cancel(reference);
+			release(payment);
+
+			throw new PaymentFailed(order, "Failed to record payment, authorization cancelled!");
+		}
 	}
 
 	/*
@@ -75,7 +163,7 @@ class PaymentServiceImpl implements PaymentService {
 	@Override
 	@Transactional(readOnly = true)
 	public Optional<Payment<?>> getPaymentFor(Order order) {
-		return payments.findByOrder(order.getId());
+		return payments.findByOrder(order.getId()).filter(it -> !it.isPending());
 	}
 
 	/*
@@ -83,10 +171,144 @@ class PaymentServiceImpl implements PaymentService {
 	 * @see org.springsource.restbucks.payment.PaymentService#takeReceiptFor(org.springsource.restbucks.order.Order)
 	 */
 	@Override
+	@Transactional
 	public Optional<Receipt> takeReceiptFor(Order order) {
 
 		var result = orders.markTaken(order);
 
 		return getPaymentFor(result).map(Payment::getReceipt);
 	}
+
+	/**
+	 * Claims the given {@link Order} for a payment by recording a pending {@link CreditCardPayment}. Concurrent claims
+	 * are rejected by the unique constraint on the {@link Order} a {@link Payment} refers to. Takes over pending
+	 * {@link Payment}s abandoned by a previous attempt, e.g. due to a crash.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @param creditCard must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private CreditCardPayment claim(Order order, CreditCard creditCard) {
+
+		var existing = reads.execute(__ -> payments.findByOrder(order.getId()));
+
+		if (existing.isPresent()) {
+
+			var payment = existing.get();
+
+			if (!payment.isPending()) {
+				throw new PaymentFailed(order, "Order already paid!");
+			}
+
+			if (payment.getPaymentDate().isAfter(LocalDateTime.now().minus(abandonedAfter))) {
+				throw new PaymentFailed(order, "Payment already in progress!");
+			}
+
+			release(payment);
+		}
+
+		try {
+			return writes.execute(__ -> payments.save(new CreditCardPayment(creditCard, order)));
+		} catch (DataIntegrityViolationException o_O) {
+			throw new PaymentFailed(order, "Payment already in progress!");
+		}
+	}
+
+	/**
+	 * Removes the given pending {@link Payment} so that the {@link Order} can be paid again. Failures are only logged
+	 * as the {@link Payment} will be considered abandoned eventually.
+	 *
+	 * @param payment must not be {@literal null}.
+	 */
+	private void release(Payment<?> payment) {
+
+		try {
+			writes.executeWithoutResult(__ -> payments.delete(payment));
+		} catch (DataAccessException | TransactionException o_O) {
+			LOG.warn("Failed to release pending payment {}!", payment.getId(), o_O);
+		}
+	}
+
+	/**
+	 * Cancels the {@link Authorization} with the given reference at the {@link PaymentGateway} without waiting for the
+	 * result.
+	 *
+	 * @param reference must not be {@literal null} or empty.
+	 */
+	private void cancel(String reference) {
+
+		gateway.cancel(reference).whenComplete((__, o_O) -> {
+			if (o_O != null) {
+				LOG.error("Failed to cancel authorization {}!", reference, o_O);
+			}
+		});
+	}
+
+	/**
+	 * Authorizes the payment of the given {@link Order} at the {@link PaymentGateway}. Waits for a free slot and the
+	 * answer of the gateway for at most the configured timeout each.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @param creditCard must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private Authorization authorize(Order order, CreditCard creditCard) {
+
+		try {
+
+			if (!authorizations.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+				throw new PaymentFailed(order, "Too many payments in progress, please try again later!");
+			}
+
+		} catch (InterruptedException o_O) {
+
+			Thread.currentThread().interrupt();
+
+			throw new PaymentFailed(order, "Interrupted while waiting for the payment gateway!");
+		}
+
+		var authorization = gateway.authorize(creditCard.getNumber(), order.getPrice());
+
+		try {
+
+			// Time out a copy so that an answer arriving late still completes the original
+			return authorization.copy() //
+					.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS) //
+					.join();
+
+		} catch (CompletionException o_O) {
+
+			if (!(o_O.getCause() instanceof TimeoutException)) {
+				throw new PaymentFailed(order, "Payment gateway failed: %s".formatted(o_O.getCause().getMessage()));
+			}
+
+			cancelIfApprovedLate(order, authorization);
+
+			throw new PaymentFailed(order, "Payment gateway did not answer within %s!".formatted(timeout));
+
+		} finally {
+			authorizations.release();
+		}
+	}
+
+	/**
+	 * Cancels the {@link Authorization} the {@link PaymentGateway} eventually answers with in case it's approved, as
+	 * the payment of the given {@link Order} has already been considered failed and the customer might pay again.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @param authorization must not be {@literal null}.
+	 */
+	private void cancelIfApprovedLate(Order order, CompletableFuture<Authorization> authorization) {
+
+		authorization.thenAccept(it -> {
+
+			if (it.isApproved()) {
+
+				LOG.warn("Authorization {} for order {} approved after timeout, cancelling.", it.getReference(),
+						order.getId());
+
+				cancel(it.getReference());
+			}
+		});
+	}
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.payment;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.Assert;
+
+/**
+ * Configuration settings for the authorization of payments through the {@link PaymentGateway}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Value
+@ConstructorBinding
+@ConfigurationProperties("restbucks.payment")
+class PaymentSettings {
+
+	/**
+	 * How long to wait for a slot at and an answer from the {@link PaymentGateway}.
+	 */
+	Duration timeout;
+
+	/**
+	 * The maximum number of authorizations in flight at the {@link PaymentGateway} at the same time.
+	 */
+	int maxConcurrentAuthorizations;
+
+	/**
+	 * The latency of the card network as simulated by the {@link SimulatedPaymentGateway}.
+	 */
+	Duration simulatedLatency;
+
+	/**
+	 * @param timeout must not be {@literal null}.
+	 * @param maxConcurrentAuthorizations must be greater than zero.
+	 * @param simulatedLatency must not be {@literal null}.
+	 */
+	public PaymentSettings(@DefaultValue("5s") Duration timeout, @DefaultValue("64") int maxConcurrentAuthorizations,
+			@DefaultValue("50ms") Duration simulatedLatency) {
+
+		Assert.notNull(timeout, "Timeout must not be null!");
+		Assert.isTrue(maxConcurrentAuthorizations > 0, "Maximum number of concurrent authorizations must be positive!");
+		Assert.notNull(simulatedLatency, "Simulated latency must not be null!");
+
+		this.timeout = timeout;
+		this.maxConcurrentAuthorizations = maxConcurrentAuthorizations;
+		this.simulatedLatency = simulatedLatency;
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.payment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.money.MonetaryAmount;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springsource.restbucks.core.Identifiers;
+
+/**
+ * Local {@link PaymentGateway} approving every payment and cancelling every authorization after a configurable
+ * latency. No thread is blocked while the latency elapses. Used unless {@code restbucks.payment.gateway} is set to
+ * something other than {@code simulated}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+@ConditionalOnProperty(name = "restbucks.payment.gateway", havingValue = "simulated", matchIfMissing = true)
+class SimulatedPaymentGateway implements PaymentGateway {
+
+	private final Duration latency;
+
+	@Autowired
+	SimulatedPaymentGateway(PaymentSettings settings) {
+		this(settings.getSimulatedLatency());
+	}
+
+	SimulatedPaymentGateway(Duration latency) {
+
+		Assert.notNull(latency, "Latency must not be null!");
+		Assert.isTrue(!latency.isNegative(), "Latency must not be negative!");
+
+		this.latency = latency;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springsource.restbucks.payment.PaymentGateway#authorize(org.springsource.restbucks.payment.CreditCardNumber, javax.money.MonetaryAmount)
+	 */
+	@Override
+	public CompletableFuture<Authorization> authorize(CreditCardNumber number, MonetaryAmount amount) {
+
+		Assert.notNull(number, "Credit card number must not be null!");
+		Assert.notNull(amount, "Amount must not be null!");
+
+		return CompletableFuture.supplyAsync(() -> Authorization.approved(Identifiers.next().toString()), delayed());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springsource.restbucks.payment.PaymentGateway#cancel(java.lang.String)
+	 */
+	@Override
+	public CompletableFuture<Void> cancel(String reference) {
+
+		Assert.hasText(reference, "Reference must not be null or empty!");
+
+		return CompletableFuture.runAsync(() -> {}, delayed());
+	}
+
+	private Executor delayed() {
+		return CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS);
+	}
+}
@@ -39,6 +39,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springsource.restbucks.core.JsonSettings;
 import org.springsource.restbucks.order.Order;
 import org.springsource.restbucks.order.Orders;
 import org.springsource.restbucks.payment.CreditCard;
@@ -63,6 +64,7 @@ class PaymentController {
 	private final @NonNull PaymentService paymentService;
 	private final @NonNull PaymentLinks paymentLinks;
 	private final @NonNull Orders orders;
+	private final @NonNull JsonSettings json;
 
 	/**
 	 * Accepts a payment for an {@link Order}
@@ -127,20 +129,28 @@ class PaymentController {
 	}
 
 	/**
-	 * Renders the given {@link Receipt} including links to the associated {@link Order} as well as a self link in case
-	 * the {@link Receipt} is still available.
+	 * Renders the given {@link Receipt} including links to the associated {@link Order} as well as a self link and an
+	 * ETag derived from the {@link Order}'s version in case the {@link Receipt} is still available.
 	 *
 	 * @param receipt
 	 * @return
 	 */
-	private HttpEntity<EntityModel<Receipt>> createReceiptResponse(Receipt receipt) {
+	private HttpEntity<?> createReceiptResponse(Receipt receipt) {
 
 		var orderLinks = paymentLinks.getOrderLinks();
 		var order = orders.resolveRequired(receipt.getOrder());
 
-		return ResponseEntity.ok(EntityModel.of(receipt)
+		var model = EntityModel.of(receipt)
 				.add(orderLinks.linkToItemResource(order))
-				.addIf(!order.isTaken(), () -> linkTo(methodOn(PaymentController.class).showReceipt(order)).withSelfRel()));
+				.addIf(!order.isTaken(), () -> linkTo(methodOn(PaymentController.class).showReceipt(order)).withSelfRel());
+
+		var builder = ResponseEntity.ok();
+
+		if (!order.isTaken()) {
+			builder.eTag(String.valueOf(order.getVersion()));
+		}
+
+		return builder.body(json.isPrecompiled() ? new PrecompiledReceiptModel(model) : model);
 	}
 
 	/**
@@ -15,17 +15,21 @@
  */
 package org.springsource.restbucks.payment.web;
 
+import org.springframework.hateoas.Affordance;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.mediatype.Affordances;
 import org.springframework.hateoas.mediatype.hal.HalLinkRelation;
 import org.springframework.hateoas.server.EntityLinks;
 import org.springframework.hateoas.server.TypedEntityLinks;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springsource.restbucks.Restbucks;
 import org.springsource.restbucks.order.Order;
 import org.springsource.restbucks.payment.Payment;
 import org.springsource.restbucks.payment.Payment.Receipt;
+import org.springsource.restbucks.payment.web.PaymentController.PaymentForm;
 
 import lombok.Getter;
 
@@ -41,6 +45,7 @@ class PaymentLinks {
 	static final String RECEIPT = "/receipt";
 	static final LinkRelation PAYMENT_REL = HalLinkRelation.curied(Restbucks.CURIE_NAMESPACE, "payment");
 	static final LinkRelation RECEIPT_REL = HalLinkRelation.curied(Restbucks.CURIE_NAMESPACE, "receipt");
+	static final String SUBMIT_PAYMENT = "submitPayment";
 
 	private final @Getter TypedEntityLinks<Order> orderLinks;
 
@@ -66,6 +71,34 @@ class PaymentLinks {
 		return orderLinks.linkForItemResource(order).slash(PAYMENT).withRel(PAYMENT_REL);
 	}
 
+	/**
+	 * Returns the {@link Link} to point to the {@link Payment} of the {@link Order} the given {@link Link} points to.
+	 * Prefer this over {@link #getPaymentLink(Order)} if the link to the {@link Order} is already at hand.
+	 *
+	 * @param orderLink must not be {@literal null}.
+	 * @return
+	 */
+	Link getPaymentLink(Link orderLink) {
+		return Link.of(orderLink.expand().getHref() + PAYMENT, PAYMENT_REL);
+	}
+
+	/**
+	 * Returns the {@link Affordance} to submit a payment for the {@link Order} the given {@link Link} points to. Equals
+	 * the one derived from {@code afford(methodOn(PaymentController.class).submitPayment(order, null))} but is built
+	 * directly instead of creating a proxy and inspecting the handler method for every {@link Order} rendered.
+	 *
+	 * @param orderLink must not be {@literal null}.
+	 * @return
+	 */
+	Affordance getPaymentAffordance(Link orderLink) {
+
+		return Affordances.of(getPaymentLink(orderLink)) //
+				.afford(HttpMethod.PUT) //
+				.withInput(PaymentForm.class) //
+				.withName(SUBMIT_PAYMENT) //
+				.build();
+	}
+
 	/**
 	 * Returns the {@link Link} to the {@link Receipt} of the given {@link Order}.
 	 *
@@ -75,4 +108,14 @@ class PaymentLinks {
 	Link getReceiptLink(Order order) {
 		return orderLinks.linkForItemResource(order).slash(RECEIPT).withRel(RECEIPT_REL);
 	}
+
+	/**
+	 * Returns the {@link Link} to the {@link Receipt} of the {@link Order} the given {@link Link} points to.
+	 *
+	 * @param orderLink must not be {@literal null}.
+	 * @return
+	 */
+	Link getReceiptLink(Link orderLink) {
+		return Link.of(orderLink.expand().getHref() + RECEIPT, RECEIPT_REL);
+	}
 }
@@ -15,8 +15,6 @@
  */
 package org.springsource.restbucks.payment.web;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
@@ -49,12 +47,16 @@ class PaymentOrderModelProcessor implements RepresentationModelProcessor<EntityM
 
 		var order = model.getContent();
 
-		Function<Link, Link> mapper = link -> link
-				.andAffordance(afford(methodOn(PaymentController.class).submitPayment(order, null)));
+		// Derive all links from the self link already present instead of re-creating the link to the order
+		var self = model.getLink(IanaLinkRelations.SELF);
+
+		Function<Link, Link> mapper = link -> link.andAffordance(paymentLinks.getPaymentAffordance(link));
 
 		return model
 				.mapLinkIf(!order.isPaid(), IanaLinkRelations.SELF, mapper)
-				.addIf(!order.isPaid(), () -> paymentLinks.getPaymentLink(order))
-				.addIf(order.isReady(), () -> paymentLinks.getReceiptLink(order));
+				.addIf(!order.isPaid(), () -> self.map(paymentLinks::getPaymentLink)
+						.orElseGet(() -> paymentLinks.getPaymentLink(order)))
+				.addIf(order.isReady(), () -> self.map(paymentLinks::getReceiptLink)
+						.orElseGet(() -> paymentLinks.getReceiptLink(order)));
 	}
 }
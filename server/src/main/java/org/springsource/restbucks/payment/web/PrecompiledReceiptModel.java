@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.payment.web;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springsource.restbucks.core.PrecompiledHalSerializer;
+import org.springsource.restbucks.payment.Payment.Receipt;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Wrapper around the {@link EntityModel} of a {@link Receipt} to render it using the hand-written
+ * {@link PrecompiledReceiptSerializer}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@JsonSerialize(using = PrecompiledReceiptModel.PrecompiledReceiptSerializer.class)
+class PrecompiledReceiptModel extends RepresentationModel<PrecompiledReceiptModel> {
+
+	private final EntityModel<Receipt> model;
+
+	/**
+	 * Writes the same HAL representation of a {@link Receipt} as the reflective serialization applying the
+	 * {@link PaymentConfiguration.ReceiptMixin}.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	static class PrecompiledReceiptSerializer extends PrecompiledHalSerializer<PrecompiledReceiptModel> {
+
+		private static final long serialVersionUID = 1L;
+		private static final SerializedString DATE = new SerializedString("date");
+
+		PrecompiledReceiptSerializer() {
+			super(PrecompiledReceiptModel.class);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.std.StdSerializer#serialize(java.lang.Object, com.fasterxml.jackson.core.JsonGenerator, com.fasterxml.jackson.databind.SerializerProvider)
+		 */
+		@Override
+		public void serialize(PrecompiledReceiptModel value, JsonGenerator generator, SerializerProvider provider)
+				throws IOException {
+
+			var model = value.getModel();
+
+			generator.writeStartObject();
+
+			writeField(DATE, model.getContent().getDate(), generator, provider);
+			writeLinks(model.getLinks(), generator, provider);
+
+			generator.writeEndObject();
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.money.MonetaryAmount;
+import javax.persistence.EntityManager;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springsource.restbucks.drinks.Drinks;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Integration tests for {@link MonetaryAmountMigration}.
+ *
+ * @author Oliver Drotbohm
+ */
+class MonetaryAmountMigrationIntegrationTest {
+
+	EmbeddedDatabase database;
+	JdbcTemplate jdbc;
+
+	@BeforeEach
+	void setUp() {
+
+		this.database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		this.jdbc = new JdbcTemplate(database);
+
+		jdbc.execute("create table legacy (id varchar(36), price varchar(255), "
+				+ "price_minor_units bigint, price_currency varchar(3))");
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void migratesLegacyPricesAndDropsLegacyColumn() {
+
+		jdbc.update("insert into legacy (id, price) values ('1', 'EUR 4.20'), ('2', 'USD -1.2'), ('3', null)");
+
+		new MonetaryAmountMigration(jdbc, List.of("LEGACY")).migrate();
+
+		assertThat(jdbc.queryForList("select id, price_minor_units, price_currency from legacy order by id"))
+				.containsExactly( //
+						row("1", 420L, "EUR"), //
+						row("2", -120L, "USD"), //
+						row("3", null, null));
+
+		assertThatNoException().isThrownBy(() -> new MonetaryAmountMigration(jdbc, List.of("LEGACY")).migrate());
+		assertThat(jdbc.queryForList("select * from legacy").get(0)).doesNotContainKey("PRICE");
+	}
+
+	@Test
+	void skipsTablesWithoutLegacyColumn() {
+
+		jdbc.execute("alter table legacy drop column price");
+		jdbc.update("insert into legacy values ('1', 420, 'EUR')");
+
+		new MonetaryAmountMigration(jdbc, List.of("LEGACY")).migrate();
+
+		assertThat(jdbc.queryForObject("select price_minor_units from legacy", Long.class)).isEqualTo(420L);
+	}
+
+	/**
+	 * Backfills {@link Order} totals against the actual schema, as the line items' mapping is derived by jMolecules.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Nested
+	class OrderTotals extends AbstractIntegrationTest {
+
+		@Autowired MonetaryAmountMigration migration;
+		@Autowired Orders orders;
+		@Autowired Drinks drinks;
+		@Autowired EntityManager em;
+
+		@Test
+		void backfillsTotalOfOrdersFromTheirLineItems() {
+
+			var drink = drinks.findByName("Java Chip");
+			var order = orders.save(new Order().add(drink).add(drink));
+			var empty = orders.save(new Order());
+
+			em.flush();
+			em.createQuery("update Order o set o.total.minorUnits = null, o.total.currency = null").executeUpdate();
+			em.clear();
+
+			migration.migrate();
+
+			assertThat(priceOf(order)).isEqualByComparingTo(drink.getPrice().multiply(2));
+			assertThat(priceOf(empty)).isEqualByComparingTo(Money.of(0, "EUR"));
+		}
+
+		private MonetaryAmount priceOf(Order order) {
+			return orders.findById(order.getId()).orElseThrow().getPrice();
+		}
+	}
+
+	private static Map<String, Object> row(String id, Long minorUnits, String currency) {
+
+		var result = new HashMap<String, Object>();
+
+		result.put("ID", id);
+		result.put("PRICE_MINOR_UNITS", minorUnits);
+		result.put("PRICE_CURRENCY", currency);
+
+		return result;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import javax.money.Monetary;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Amount}.
+ *
+ * @author Oliver Drotbohm
+ */
+class AmountUnitTest {
+
+	@Test
+	void convertsFromAndToMonetaryAmount() {
+
+		var amount = Amount.of(Money.of(2.70, EURO));
+
+		assertThat(amount.getMinorUnits()).isEqualTo(270);
+		assertThat(amount.getCurrency()).isEqualTo("EUR");
+		assertThat(amount.toMonetaryAmount()).isEqualTo(Money.of(2.70, EURO));
+	}
+
+	@Test
+	void usesFractionDigitsOfCurrency() {
+
+		var yen = Monetary.getCurrency("JPY");
+
+		assertThat(Amount.of(Money.of(500, yen)).getMinorUnits()).isEqualTo(500);
+		assertThat(Amount.of(500, yen).toMonetaryAmount()).isEqualTo(Money.of(500, yen));
+	}
+
+	@Test
+	void reusesCachedCurrencyWhenConvertingToMonetaryAmount() {
+
+		var yen = Monetary.getCurrency("JPY");
+
+		assertThat(Amount.of(270, EURO).toMonetaryAmount().getCurrency()).isSameAs(EURO);
+		assertThat(Amount.of(500, yen).toMonetaryAmount().getCurrency())
+				.isSameAs(Amount.of(100, yen).toMonetaryAmount().getCurrency());
+	}
+
+	@Test
+	void rejectsFractionsOfMinorUnits() {
+		assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> Amount.of(Money.of(2.705, EURO)));
+	}
+
+	@Test
+	void addsAndMultiplies() {
+
+		var amount = Amount.of(270, EURO).multiply(2).add(Amount.of(325, EURO));
+
+		assertThat(amount).isEqualTo(Amount.of(865, EURO));
+		assertThat(amount.toString()).isEqualTo("EUR 8.65");
+	}
+
+	@Test
+	void rejectsAddingAmountOfDifferentCurrency() {
+
+		var dollars = Amount.of(100, Monetary.getCurrency("USD"));
+
+		assertThatIllegalArgumentException().isThrownBy(() -> Amount.of(100, EURO).add(dollars));
+	}
+}
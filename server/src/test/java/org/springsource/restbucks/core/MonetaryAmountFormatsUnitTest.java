@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryFormats;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Unit tests for {@link MonetaryAmountFormats}.
+ *
+ * @author Oliver Drotbohm
+ */
+class MonetaryAmountFormatsUnitTest {
+
+	static Stream<MonetaryAmount> amounts() {
+
+		return Stream.of("0", "0.05", "0.5", "1", "4.2", "4.20", "4.20000", "12.34", "999.99", "1000", "1234.5",
+				"123456.78", "1000000", "-4.20", "1.234", "1.235", "92233720368547758.07")
+				.map(BigDecimal::new)
+				.flatMap(it -> Stream.of(Money.of(it, EURO), Money.of(it, Monetary.getCurrency("USD"))));
+	}
+
+	@ParameterizedTest
+	@MethodSource("amounts")
+	void formatsLikeMonetaryFormatsForRootLocale(MonetaryAmount amount) {
+
+		assertThat(MonetaryAmountFormats.format(amount, Locale.ROOT))
+				.isEqualTo(MonetaryFormats.getAmountFormat(Locale.ROOT).format(amount));
+	}
+
+	@ParameterizedTest
+	@MethodSource("amounts")
+	void formatsLikeMonetaryFormatsForOtherLocales(MonetaryAmount amount) {
+
+		Stream.of(Locale.GERMANY, Locale.US, Locale.FRANCE).forEach(locale -> {
+
+			assertThat(MonetaryAmountFormats.format(amount, locale))
+					.isEqualTo(MonetaryFormats.getAmountFormat(locale).format(amount));
+		});
+	}
+
+	@Test
+	void detectsEuroLayoutOfRootLocale() {
+		assertThat(MonetaryAmountFormats.getEuroLayout(Locale.ROOT)).isPresent();
+	}
+
+	@Test
+	void detectsEuroLayoutOfLocalesResolvedForRequests() {
+
+		Stream.of(Locale.GERMANY, Locale.US, Locale.UK).forEach(it -> {
+			assertThat(MonetaryAmountFormats.getEuroLayout(it)).as(it.toString()).isPresent();
+		});
+	}
+
+	@Test
+	void sharesPooledFormatsAcrossThreads() throws Exception {
+
+		var amount = Money.of(4.20, EURO);
+
+		MonetaryAmountFormats.format(amount, Locale.GERMANY);
+
+		var thread = new Thread(() -> MonetaryAmountFormats.format(amount, Locale.GERMANY));
+		thread.start();
+		thread.join();
+
+		assertThat(MonetaryAmountFormats.getPooledFormats(Locale.GERMANY)).isOne();
+	}
+
+	@Test
+	void formatsConcurrentlyWithPooledFormats() throws Exception {
+
+		var amount = Money.of(1234.5, EURO);
+		var expected = MonetaryFormats.getAmountFormat(Locale.FRANCE).format(amount);
+		var executor = Executors.newFixedThreadPool(8);
+		Callable<String> task = () -> MonetaryAmountFormats.format(amount, Locale.FRANCE);
+
+		try {
+
+			var results = executor.invokeAll(Collections.nCopies(1000, task));
+
+			for (Future<String> result : results) {
+				assertThat(result.get()).isEqualTo(expected);
+			}
+
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(MonetaryAmountFormats.getPooledFormats(Locale.FRANCE))
+				.isBetween(1, MonetaryAmountFormats.MAX_FORMATS_PER_LOCALE);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedLocales() {
+
+		MonetaryAmountFormats.format(Money.of(4.20, EURO), Locale.CANADA);
+
+		assertThat(MonetaryAmountFormats.getPooledFormats(Locale.CANADA)).isOne();
+
+		Stream.of(Locale.getAvailableLocales())
+				.filter(it -> !it.equals(Locale.CANADA))
+				.limit(MonetaryAmountFormats.MAX_LOCALES)
+				.forEach(it -> MonetaryAmountFormats.format(Money.of(4.20, EURO), it));
+
+		assertThat(MonetaryAmountFormats.getPooledFormats(Locale.CANADA)).isZero();
+	}
+
+	@Test
+	void parsesWithPooledFormat() {
+
+		var amount = Money.of(1234.5, EURO);
+
+		assertThat(MonetaryAmountFormats.parse(MonetaryAmountFormats.format(amount, Locale.ROOT), Locale.ROOT))
+				.isEqualTo(amount);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TimeOrderedUuidGenerator}.
+ *
+ * @author Oliver Drotbohm
+ */
+class TimeOrderedUuidGeneratorUnitTest {
+
+	static final Instant NOW = Instant.parse("2022-03-01T12:00:00Z");
+
+	@Test
+	void createsVersion7Uuids() {
+
+		var uuid = new TimeOrderedUuidGenerator(Clock.fixed(NOW, ZoneOffset.UTC), new Random(0)).get();
+
+		assertThat(uuid.version()).isEqualTo(7);
+		assertThat(uuid.variant()).isEqualTo(2);
+		assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(NOW.toEpochMilli());
+	}
+
+	@Test
+	void keepsUuidsOrderedWithinTheSameMillisecond() {
+
+		var generator = new TimeOrderedUuidGenerator(Clock.fixed(NOW, ZoneOffset.UTC), new Random(0));
+		var uuids = IntStream.range(0, 10_000).mapToObj(__ -> generator.get()).toList();
+
+		assertThat(uuids).doesNotHaveDuplicates();
+		assertThat(uuids).isSortedAccordingTo(Comparator.comparing(UUID::getMostSignificantBits));
+		assertThat(uuids.stream().map(UUID::toString).toList()).isSorted();
+	}
+
+	@Test
+	void keepsUuidsOrderedIfClockGoesBackwards() {
+
+		var clock = new MutableClock(NOW);
+		var generator = new TimeOrderedUuidGenerator(clock, new Random(0));
+
+		var first = generator.get();
+		clock.set(NOW.minusSeconds(1));
+		var second = generator.get();
+
+		assertThat(second.toString()).isGreaterThan(first.toString());
+	}
+
+	@Test
+	void identifiersAreTimeOrderedByDefault() {
+		assertThat(Identifiers.next().version()).isEqualTo(7);
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void set(Instant now) {
+			this.now = now;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("UTC");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import java.util.List;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+import org.springsource.restbucks.order.Milk;
+import org.springsource.restbucks.order.Size;
+
+/**
+ * Unit tests for {@link DrinkNameIndex}.
+ *
+ * @author Oliver Drotbohm
+ */
+class DrinkNameIndexUnitTest {
+
+	static final Drink CAPPUCHINO = drink("Cappuchino");
+	static final Drink JAVA_CHIP = drink("Java Chip");
+	static final Drink LATTE = drink("Latte");
+	static final Drink LATTE_MACCHIATO = drink("Latte Macchiato");
+
+	DrinkNameIndex index = new DrinkNameIndex(List.of(CAPPUCHINO, JAVA_CHIP, LATTE, LATTE_MACCHIATO));
+
+	@Test
+	void findsDrinksByPrefix() {
+		assertThat(index.findByNameContaining("Latte")).containsExactly(LATTE, LATTE_MACCHIATO);
+	}
+
+	@Test
+	void findsDrinksByInfixIgnoringCase() {
+
+		assertThat(index.findByNameContaining("CHI")).containsExactly(CAPPUCHINO, JAVA_CHIP, LATTE_MACCHIATO);
+		assertThat(index.findByNameContaining("a c")).containsExactly(JAVA_CHIP);
+	}
+
+	@Test
+	void returnsEachDrinkOnlyOnce() {
+		assertThat(index.findByNameContaining("a")).containsExactly(CAPPUCHINO, JAVA_CHIP, LATTE, LATTE_MACCHIATO);
+	}
+
+	@Test
+	void returnsAllDrinksForEmptyQuery() {
+		assertThat(index.findByNameContaining("")).containsExactly(CAPPUCHINO, JAVA_CHIP, LATTE, LATTE_MACCHIATO);
+	}
+
+	@Test
+	void returnsNoDrinksForUnknownName() {
+
+		assertThat(index.findByNameContaining("Mocha")).isEmpty();
+		assertThat(index.findByNameContaining("Latte Macchiato Grande")).isEmpty();
+	}
+
+	@Test
+	void findsAllDrinksSharingAName() {
+
+		var latte = drink("Latte");
+		var smallLatte = new Drink("Latte", Milk.SEMI, Size.SMALL, Money.of(2.80, EURO));
+		var semiLatte = new Drink("Latte", Milk.SEMI, Size.LARGE, Money.of(3.00, EURO));
+
+		var lattes = new DrinkNameIndex(List.of(latte, smallLatte, semiLatte, CAPPUCHINO, LATTE_MACCHIATO));
+
+		assertThat(lattes.findByNameContaining("latte")).containsExactly(latte, smallLatte, semiLatte, LATTE_MACCHIATO);
+		assertThat(lattes.findByNameContaining("atte")).containsExactly(latte, smallLatte, semiLatte, LATTE_MACCHIATO);
+	}
+
+	private static Drink drink(String name) {
+		return new Drink(name, Milk.WHOLE, Size.LARGE, Money.of(3.20, EURO));
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import java.util.Optional;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springsource.restbucks.order.Milk;
+import org.springsource.restbucks.order.Size;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Unit tests for {@link DrinkReferenceDeserializer}.
+ *
+ * @author Oliver Drotbohm
+ */
+@ExtendWith(MockitoExtension.class)
+class DrinkReferenceDeserializerUnitTest {
+
+	static final Drink LATTE = new Drink("Latte", Milk.SEMI, Size.LARGE, Money.of(3.25, EURO));
+
+	@Mock DrinksCatalog catalog;
+
+	ObjectMapper mapper;
+
+	@BeforeEach
+	void setUp() {
+		var module = new SimpleModule().addDeserializer(Drink.class, new DrinkReferenceDeserializer(catalog));
+
+		mapper = new ObjectMapper().registerModule(module);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "http://localhost/drinks/%s", "/drinks/%s" })
+	void resolvesDrinkResourceUri(String template) throws Exception {
+
+		when(catalog.findById(LATTE.getId())).thenReturn(Optional.of(LATTE));
+
+		assertThat(read(template)).isEqualTo(LATTE);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "http://evil/x/%s", "foo/%s", "%s", "/drinks/%s/foo", "/drinks/x%s", "/orders/%s" })
+	void rejectsUriNotPointingToDrinkResource(String template) {
+
+		assertThatExceptionOfType(JsonMappingException.class).isThrownBy(() -> read(template));
+
+		verifyNoInteractions(catalog);
+	}
+
+	@Test
+	void rejectsUnknownDrink() {
+
+		when(catalog.findById(LATTE.getId())).thenReturn(Optional.empty());
+
+		assertThatExceptionOfType(JsonMappingException.class).isThrownBy(() -> read("/drinks/%s"));
+	}
+
+	private Drink read(String template) throws Exception {
+		return mapper.readValue('"' + String.format(template, LATTE.getId().getId()) + '"', Drink.class);
+	}
+}
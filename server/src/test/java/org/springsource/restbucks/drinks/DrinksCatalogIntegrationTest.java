@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springsource.restbucks.order.Milk;
+import org.springsource.restbucks.order.Size;
+
+/**
+ * Integration tests for {@link DrinksCatalog} and its invalidation by {@link DrinksCatalogListener}.
+ *
+ * @author Oliver Drotbohm
+ */
+@SpringBootTest
+class DrinksCatalogIntegrationTest {
+
+	@Autowired Drinks drinks;
+	@Autowired DrinksCatalog catalog;
+
+	@Test
+	void dropsCatalogOnceDrinkChangesAreCommitted() {
+
+		var before = catalog.findAll().toList();
+		var drink = drinks.save(new Drink("Flat white", Milk.WHOLE, Size.SMALL, Money.of(2.90, EURO)));
+
+		try {
+
+			assertThat(catalog.findAll()).hasSize(before.size() + 1).extracting(Drink::getId).contains(drink.getId());
+
+		} finally {
+			drinks.delete(drink);
+		}
+
+		assertThat(catalog.findAll()).hasSize(before.size()).extracting(Drink::getId).doesNotContain(drink.getId());
+	}
+}
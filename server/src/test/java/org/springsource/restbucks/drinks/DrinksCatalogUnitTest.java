@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Optional;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.util.Streamable;
+import org.springsource.restbucks.order.Milk;
+import org.springsource.restbucks.order.Size;
+
+/**
+ * Unit tests for {@link DrinksCatalog}.
+ *
+ * @author Oliver Drotbohm
+ */
+@ExtendWith(MockitoExtension.class)
+class DrinksCatalogUnitTest {
+
+	static final Drink LATTE = new Drink("Latte", Milk.SEMI, Size.LARGE, Money.of(3.25, EURO));
+	static final Drink TEA = new Drink("Tea", Milk.WHOLE, Size.SMALL, Money.of(2.70, EURO));
+
+	@Mock Drinks drinks;
+
+	MeterRegistry registry = new SimpleMeterRegistry();
+	DrinksCatalog catalog;
+
+	@BeforeEach
+	void setUp() {
+		catalog = new DrinksCatalog(drinks, registry);
+	}
+
+	@Test
+	void loadsCatalogOnlyOnce() {
+
+		when(drinks.findAll(any(Sort.class))).thenReturn(Streamable.of(LATTE, TEA));
+
+		assertThat(catalog.findAll()).containsExactly(LATTE, TEA);
+		assertThat(catalog.findByNameContaining("EA")).containsExactly(TEA);
+		assertThat(catalog.findById(LATTE.getId())).hasValue(LATTE);
+
+		verify(drinks, times(1)).findAll(any(Sort.class));
+		verify(drinks, never()).findById(any());
+
+		assertThat(count("hit")).isEqualTo(2);
+		assertThat(count("miss")).isEqualTo(1);
+	}
+
+	@Test
+	void reloadsCatalogAfterInvalidation() {
+
+		when(drinks.findAll(any(Sort.class))).thenReturn(Streamable.of(LATTE), Streamable.of(LATTE, TEA));
+
+		assertThat(catalog.findAll()).containsExactly(LATTE);
+
+		catalog.on(DrinksChanged.of(TEA));
+
+		assertThat(catalog.findAll()).containsExactly(LATTE, TEA);
+		assertThat(count("miss")).isEqualTo(2);
+	}
+
+	@Test
+	void fallsBackToRepositoryForUnknownDrink() {
+
+		when(drinks.findAll(any(Sort.class))).thenReturn(Streamable.of(LATTE));
+		when(drinks.findById(TEA.getId())).thenReturn(Optional.of(TEA));
+
+		assertThat(catalog.findById(TEA.getId())).hasValue(TEA);
+		assertThat(count("hit")).isZero();
+		assertThat(count("miss")).isEqualTo(1);
+	}
+
+	@Test
+	void countsUnknownDrinkInLoadedCatalogAsMissOnly() {
+
+		when(drinks.findAll(any(Sort.class))).thenReturn(Streamable.of(LATTE));
+		when(drinks.findById(TEA.getId())).thenReturn(Optional.empty());
+
+		catalog.findAll();
+
+		assertThat(catalog.findById(TEA.getId())).isEmpty();
+		assertThat(count("hit")).isZero();
+		assertThat(count("miss")).isEqualTo(2);
+	}
+
+	private double count(String result) {
+		return registry.get("cache.gets").tag("cache", "drinks").tag("result", result).counter().count();
+	}
+}
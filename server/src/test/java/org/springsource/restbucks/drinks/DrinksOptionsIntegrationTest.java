@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.drinks;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springsource.restbucks.AbstractWebIntegrationTest;
+import org.springsource.restbucks.order.Milk;
+import org.springsource.restbucks.order.Size;
+
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Integration tests for {@link DrinksOptions}.
+ *
+ * @author Oliver Drotbohm
+ */
+class DrinksOptionsIntegrationTest extends AbstractWebIntegrationTest {
+
+	@Autowired Drinks drinks;
+	@Autowired DrinksCatalog catalog;
+
+	@Test
+	void servesAllOptionsWithETag() throws Exception {
+
+		var response = mvc.perform(get("/drinks/by-name").accept(MediaTypes.HAL_JSON)) //
+				.andExpect(status().isOk()) //
+				.andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON)) //
+				.andExpect(header().exists(HttpHeaders.ETAG)) //
+				.andReturn().getResponse();
+
+		var names = JsonPath.parse(response.getContentAsString()).read("$._embedded.drinks[*].prompt", String[].class);
+
+		assertThat(names).containsExactlyElementsOf(catalog.findAll().map(Drink::getName));
+
+		mvc.perform(get("/drinks/by-name").accept(MediaTypes.HAL_JSON) //
+				.header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG))) //
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void servesFilteredOptions() throws Exception {
+
+		var response = mvc.perform(get("/drinks/by-name").param("q", "chip").accept(MediaTypes.HAL_JSON)) //
+				.andExpect(status().isOk()) //
+				.andReturn().getResponse();
+
+		var names = JsonPath.parse(response.getContentAsString()).read("$._embedded.drinks[*].prompt", String[].class);
+
+		assertThat(names).containsExactly("Java Chip");
+	}
+
+	@Test
+	void changesETagWhenDrinksChange() throws Exception {
+
+		var before = mvc.perform(get("/drinks/by-name").accept(MediaTypes.HAL_JSON)) //
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		var drink = drinks.save(new Drink("Flat white", Milk.WHOLE, Size.SMALL, Money.of(2.90, EURO)));
+
+		try {
+
+			mvc.perform(get("/drinks/by-name").accept(MediaTypes.HAL_JSON).header(HttpHeaders.IF_NONE_MATCH, before)) //
+					.andExpect(status().isOk()) //
+					.andExpect(header().string(HttpHeaders.ETAG, not(before)));
+
+		} finally {
+			drinks.delete(drink);
+		}
+	}
+}
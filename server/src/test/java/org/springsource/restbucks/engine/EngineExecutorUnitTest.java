@@ -0,0 +1,168 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springsource.restbucks.engine.EngineSettings.ExecutorSettings;
+import org.springsource.restbucks.engine.EngineSettings.OverloadPolicy;
+
+/**
+ * Unit tests for {@link EngineExecutor}.
+ *
+ * @author Oliver Drotbohm
+ */
+class EngineExecutorUnitTest {
+
+	MeterRegistry registry = new SimpleMeterRegistry();
+	CountDownLatch release = new CountDownLatch(1);
+
+	EngineTimer timer;
+	EngineExecutor executor;
+
+	@AfterEach
+	void tearDown() throws Exception {
+
+		release.countDown();
+		executor.destroy();
+		timer.destroy();
+	}
+
+	@Test
+	void runsTaskInCallerThreadIfSaturated() {
+
+		saturate(OverloadPolicy.CALLER_RUNS);
+
+		var thread = new AtomicReference<Thread>();
+		executor.execute(() -> thread.set(Thread.currentThread()));
+
+		assertThat(thread.get()).isEqualTo(Thread.currentThread());
+		assertThat(rejections(OverloadPolicy.CALLER_RUNS)).isEqualTo(1);
+	}
+
+	@Test
+	void guardsAndTimesTaskRunInCallerThread() {
+
+		saturate(OverloadPolicy.CALLER_RUNS);
+
+		var waits = registry.get("restbucks.engine.executor.wait").timer().count();
+
+		assertThatNoException().isThrownBy(() -> executor.execute(() -> {
+			throw new IllegalStateException("Failed!");
+		}));
+
+		assertThat(registry.get("restbucks.engine.executor.wait").timer().count()).isGreaterThan(waits);
+	}
+
+	@Test
+	void doesNotRunTaskInCallerThreadOnTryExecuteIfSaturated() {
+
+		saturate(OverloadPolicy.CALLER_RUNS);
+
+		var executed = new CountDownLatch(1);
+
+		assertThat(executor.tryExecute(executed::countDown)).isFalse();
+		assertThat(executed.getCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shedsTaskIfSaturated() {
+
+		saturate(OverloadPolicy.SHED);
+
+		var executed = new CountDownLatch(1);
+		executor.execute(executed::countDown);
+
+		assertThat(executed.getCount()).isEqualTo(1);
+		assertThat(rejections(OverloadPolicy.SHED)).isEqualTo(1);
+	}
+
+	@Test
+	void retriesRejectedTaskOnceCapacityIsAvailable() throws Exception {
+
+		saturate(OverloadPolicy.RETRY);
+
+		var executed = new CountDownLatch(1);
+		executor.execute(executed::countDown);
+
+		assertThat(rejections(OverloadPolicy.RETRY)).isEqualTo(1);
+		assertThat(registry.get("restbucks.engine.executor.retries").gauge().value()).isEqualTo(1);
+
+		release.countDown();
+
+		assertThat(executed.await(2, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void completesPreparationsEvenIfSaturated() throws Exception {
+
+		saturate(OverloadPolicy.SHED);
+
+		var thread = new AtomicReference<Thread>();
+		var executed = new CountDownLatch(1);
+
+		executor.complete(() -> {
+			thread.set(Thread.currentThread());
+			executed.countDown();
+		});
+
+		assertThat(executed.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(thread.get()).isNotEqualTo(Thread.currentThread());
+		assertThat(registry.find("restbucks.engine.executor.rejected").counter()).isNull();
+	}
+
+	/**
+	 * Sets up an {@link EngineExecutor} with a single worker and a queue capacity of one and blocks both.
+	 *
+	 * @param policy must not be {@literal null}.
+	 */
+	private void saturate(OverloadPolicy policy) {
+
+		var executorSettings = new ExecutorSettings(1, 1, 1, policy, 10, Duration.ofMillis(50));
+		var settings = EngineTestUtils.settings(Duration.ofMillis(50), 1, Duration.ZERO, executorSettings);
+
+		this.timer = new EngineTimer(settings);
+		this.executor = new EngineExecutor(settings, timer, registry, "platform");
+
+		Runnable blocking = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException o_O) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		executor.execute(blocking);
+		executor.execute(blocking);
+	}
+
+	private double rejections(OverloadPolicy policy) {
+
+		return registry.get("restbucks.engine.executor.rejected")
+				.tag("policy", policy.name())
+				.counter().count();
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.OrderPosition;
+import org.springsource.restbucks.order.OrderTestUtils;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Unit tests for {@link EngineRecovery}.
+ *
+ * @author Oliver Drotbohm
+ */
+@ExtendWith(MockitoExtension.class)
+class EngineRecoveryUnitTest {
+
+	@Mock Orders orders;
+	@Mock Engine engine;
+	@Mock OutboxDispatcher dispatcher;
+
+	@Test
+	void resumesOrdersPageByPageBeforeStartingOutboxDispatch() {
+
+		var first = OrderTestUtils.createOrderInPreparation();
+		var second = OrderTestUtils.createOrderInPreparation();
+		var third = OrderTestUtils.createOrderInPreparation();
+
+		var statuses = List.of(Status.PREPARING);
+
+		when(orders.findAfter(null, statuses, 2)).thenReturn(List.of(first, second));
+		when(orders.findAfter(OrderPosition.of(second), statuses, 2)).thenReturn(List.of(third));
+
+		new EngineRecovery(orders, engine, EngineTestUtils.settings(Duration.ofMillis(50), 1), dispatcher).recover();
+
+		verify(engine).resume(first);
+		verify(engine).resume(second);
+		verify(engine).resume(third);
+		verify(orders, times(2)).findAfter(any(), eq(statuses), eq(2));
+		verify(dispatcher).start();
+	}
+}
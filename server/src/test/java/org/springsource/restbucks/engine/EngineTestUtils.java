@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import org.springsource.restbucks.engine.EngineSettings.BatchingSettings;
+import org.springsource.restbucks.engine.EngineSettings.ExecutorSettings;
+import org.springsource.restbucks.engine.EngineSettings.OutboxSettings;
+import org.springsource.restbucks.engine.EngineSettings.OverloadPolicy;
+import org.springsource.restbucks.engine.EngineSettings.PreparationSettings;
+import org.springsource.restbucks.engine.EngineSettings.RecoverySettings;
+
+/**
+ * Utility methods for testing.
+ *
+ * @author Oliver Drotbohm
+ */
+class EngineTestUtils {
+
+	static final ExecutorSettings EXECUTOR = new ExecutorSettings(1, 1, 10, OverloadPolicy.CALLER_RUNS, 10,
+			Duration.ofSeconds(1));
+
+	static EngineSettings settings(Duration processingTime, int stations) {
+		return settings(processingTime, stations, Duration.ZERO, EXECUTOR);
+	}
+
+	static EngineSettings settings(Duration processingTime, int stations, Duration batchingWindow,
+			ExecutorSettings executor) {
+
+		return new EngineSettings(processingTime, stations, new PreparationSettings(null, null),
+				new BatchingSettings(batchingWindow, 8, 0.3), new RecoverySettings(true, 2),
+				new OutboxSettings(Duration.ofMillis(50), 10), 1, executor);
+	}
+
+	static EngineExecutor executor(EngineSettings settings, EngineTimer timer) {
+		return new EngineExecutor(settings, timer, new SimpleMeterRegistry(), "platform");
+	}
+
+	/**
+	 * A {@link Clock} that only advances when told to.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	static class MutableClock extends Clock {
+
+		private volatile Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			this.now = now.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("UTC");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springsource.restbucks.order.OrderTestUtils;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Unit tests for {@link Engine}.
+ *
+ * @author Oliver Drotbohm
+ */
+@ExtendWith(MockitoExtension.class)
+class EngineUnitTest {
+
+	@Mock Orders orders;
+
+	InFlightOrders inFlight = new InFlightOrders();
+
+	EngineTimer timer;
+	EngineExecutor executor;
+	Engine engine;
+
+	@BeforeEach
+	void setUp() {
+
+		var settings = EngineTestUtils.settings(Duration.ofMillis(50), 1);
+
+		this.timer = new EngineTimer(settings);
+		this.executor = EngineTestUtils.executor(settings, timer);
+		this.engine = new Engine(orders, settings, new Stations(settings, timer, executor), timer, inFlight);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+
+		executor.destroy();
+		timer.destroy();
+	}
+
+	@Test
+	void marksOrderPreparedAfterProcessingTimeWithoutBlockingTheCaller() {
+
+		var order = OrderTestUtils.createOrderInPreparation();
+
+		engine.prepare(order);
+
+		verify(orders, never()).markPrepared(List.of(order));
+		verify(orders, timeout(1000)).markPrepared(List.of(order));
+	}
+
+	@Test
+	void resumesPreparationOfOrder() {
+
+		var order = OrderTestUtils.createOrderInPreparation();
+
+		engine.resume(order);
+
+		verify(orders, timeout(1000)).markPrepared(List.of(order));
+	}
+
+	@Test
+	void recordsPredictedReadyTimeOfResumedOrder() {
+
+		var settings = EngineTestUtils.settings(Duration.ofMinutes(1), 1);
+		var engine = new Engine(orders, settings, new Stations(settings, timer, executor), timer, inFlight);
+		var order = OrderTestUtils.createOrderInPreparation();
+
+		engine.resume(order);
+
+		assertThat(inFlight.getOrder(order.getId())).hasValueSatisfying(it -> {
+			assertThat(it.getStation()).isZero();
+			assertThat(it.getReadyAt()).isNotNull();
+		});
+	}
+
+	@Test
+	void marksOrderPreparedOffTheTimerThread() {
+
+		var order = OrderTestUtils.createOrderInPreparation();
+		var thread = new AtomicReference<Thread>();
+
+		when(orders.markPrepared(List.of(order))).thenAnswer(it -> {
+			thread.set(Thread.currentThread());
+			return List.of(order);
+		});
+
+		engine.prepare(order);
+
+		verify(orders, timeout(1000)).markPrepared(List.of(order));
+		assertThat(thread.get().getName()).startsWith("engine-").doesNotStartWith("engine-timer-");
+	}
+
+	@Test
+	void removesOrderFromInFlightOrdersIfMarkingItPreparedFails() {
+
+		var order = OrderTestUtils.createOrderInPreparation();
+
+		when(orders.markPrepared(List.of(order))).thenThrow(new IllegalStateException("Failed!"));
+
+		inFlight.started(order.getId());
+
+		assertThatIllegalStateException().isThrownBy(() -> engine.finishProcessing(List.of(order)));
+		assertThat(inFlight.getOrder(order.getId())).isEmpty();
+	}
+
+	@Test
+	void rejectsOrderNotInPreparation() {
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> engine.prepare(OrderTestUtils.createPaidOrder()));
+	}
+}
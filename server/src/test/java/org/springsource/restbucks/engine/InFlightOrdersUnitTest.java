@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springsource.restbucks.engine.EngineTestUtils.MutableClock;
+import org.springsource.restbucks.engine.InFlightOrders.InFlightOrder;
+import org.springsource.restbucks.engine.InFlightOrders.Stage;
+import org.springsource.restbucks.engine.Stations.Assignment;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+
+/**
+ * Unit tests for {@link InFlightOrders}.
+ *
+ * @author Oliver Drotbohm
+ */
+class InFlightOrdersUnitTest {
+
+	MutableClock clock = new MutableClock(Instant.parse("2022-01-01T08:00:00Z"));
+	InFlightOrders orders = new InFlightOrders(clock);
+
+	@Test
+	void summarizesOrdersByStageStationAndAge() {
+
+		var first = OrderIdentifier.of(UUID.randomUUID());
+		var second = OrderIdentifier.of(UUID.randomUUID());
+		var third = OrderIdentifier.of(UUID.randomUUID());
+
+		orders.started(first);
+		clock.advance(Duration.ofSeconds(50));
+
+		orders.started(second);
+		orders.started(third);
+		orders.assigned(second, new Assignment(1, clock.instant().plusSeconds(30)));
+
+		clock.advance(Duration.ofSeconds(5));
+
+		var summary = orders.getSummary();
+
+		assertThat(summary.getTotal()).isEqualTo(3);
+		assertThat(summary.getStages()).containsEntry(Stage.BATCHING, 2).containsEntry(Stage.PREPARING, 1);
+		assertThat(summary.getStations()).containsExactlyEntriesOf(Map.of(1, 1));
+		assertThat(summary.getAges()).containsEntry("le_10s", 2).containsEntry("le_60s", 1).containsEntry("gt_300s", 0);
+	}
+
+	@Test
+	void exposesPredictedReadyTimeOfAssignedOrder() {
+
+		var id = OrderIdentifier.of(UUID.randomUUID());
+		var readyAt = clock.instant().plusSeconds(30);
+
+		orders.started(id);
+
+		assertThat(orders.getOrder(id)).map(InFlightOrder::getReadyAt).isEmpty();
+
+		orders.assigned(id, new Assignment(1, readyAt));
+
+		assertThat(orders.getOrder(id)).map(InFlightOrder::getReadyAt).hasValue(readyAt);
+	}
+
+	@Test
+	void removesFinishedOrders() {
+
+		var id = OrderIdentifier.of(UUID.randomUUID());
+
+		orders.started(id);
+		orders.finished(id);
+		orders.assigned(id, new Assignment(0, clock.instant()));
+
+		assertThat(orders.getSummary().getTotal()).isZero();
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springsource.restbucks.engine.EngineSettings.ExecutorSettings;
+import org.springsource.restbucks.engine.EngineSettings.OverloadPolicy;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Unit tests for {@link OutboxDispatcher}.
+ *
+ * @author Oliver Drotbohm
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherUnitTest {
+
+	@Mock Outbox outbox;
+	@Mock Orders orders;
+	@Mock Engine engine;
+	@Mock PlatformTransactionManager transactionManager;
+
+	CountDownLatch release = new CountDownLatch(1);
+
+	EngineTimer timer;
+	EngineExecutor executor;
+	OutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+
+		var executorSettings = new ExecutorSettings(1, 1, 1, OverloadPolicy.CALLER_RUNS, 10, Duration.ofMillis(50));
+		var settings = EngineTestUtils.settings(Duration.ofMillis(50), 1, Duration.ZERO, executorSettings);
+
+		this.timer = new EngineTimer(settings);
+		this.executor = new EngineExecutor(settings, timer, new SimpleMeterRegistry(), "platform");
+		this.dispatcher = new OutboxDispatcher(outbox, orders, engine, settings, timer, executor, transactionManager);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+
+		release.countDown();
+		executor.destroy();
+		timer.destroy();
+	}
+
+	@Test
+	void skipsPollWhileDispatchIsInProgress() {
+
+		when(outbox.claim(any())).thenAnswer(__ -> {
+
+			release.await();
+
+			return List.of();
+		});
+
+		dispatcher.poll();
+		verify(outbox, timeout(1000)).claim(any());
+
+		dispatcher.poll();
+		release.countDown();
+
+		verify(outbox, after(200).times(1)).claim(any());
+	}
+
+	@Test
+	void skipsPollInsteadOfRunningItOnTheTimerIfExecutorIsSaturated() {
+
+		Runnable blocking = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException o_O) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		executor.execute(blocking);
+		executor.execute(blocking);
+
+		dispatcher.poll();
+
+		verifyNoInteractions(outbox);
+	}
+}
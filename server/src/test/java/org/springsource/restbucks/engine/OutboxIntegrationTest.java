@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springsource.restbucks.AbstractIntegrationTest;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.OrderTestUtils;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Integration tests for {@link Outbox} and {@link OutboxDispatcher}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OutboxIntegrationTest extends AbstractIntegrationTest {
+
+	@Autowired Orders orders;
+	@Autowired Outbox outbox;
+	@Autowired OutboxDispatcher dispatcher;
+
+	@MockBean Engine engine;
+
+	@Test
+	void writesOutboxEntryInTransactionMarkingOrderPaidAndDispatchesIt() {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var before = outbox.count();
+
+		orders.markPaid(order);
+
+		assertThat(outbox.count()).isEqualTo(before + 1);
+
+		dispatcher.dispatch();
+
+		assertThat(outbox.count()).isZero();
+		assertThat(orders.findById(order.getId())).hasValueSatisfying(it -> {
+			assertThat(it.getStatus()).isEqualTo(Status.PREPARING);
+			verify(engine).prepare(it);
+		});
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springsource.restbucks.drinks.Drink;
+import org.springsource.restbucks.order.Milk;
+import org.springsource.restbucks.order.Order;
+import org.springsource.restbucks.order.Size;
+
+/**
+ * Unit tests for {@link PreparationBatcher}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PreparationBatcherUnitTest {
+
+	Drink latte = new Drink("Latte", Milk.SEMI, Size.LARGE, Money.of(3.20, EURO));
+	Drink espresso = new Drink("Espresso", Milk.WHOLE, Size.SMALL, Money.of(1.80, EURO));
+
+	BlockingQueue<Collection<Order>> completions = new LinkedBlockingQueue<>();
+
+	EngineTimer timer;
+	EngineExecutor executor;
+	Stations stations;
+	PreparationBatcher batcher;
+
+	@BeforeEach
+	void setUp() {
+
+		var settings = EngineTestUtils.settings(Duration.ofMillis(50), 1, Duration.ofMillis(100),
+				EngineTestUtils.EXECUTOR);
+
+		this.timer = new EngineTimer(settings);
+		this.executor = EngineTestUtils.executor(settings, timer);
+		this.stations = new Stations(settings, timer, executor);
+		this.batcher = new PreparationBatcher(settings, stations, timer, new InFlightOrders(),
+				completions::add);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+
+		executor.destroy();
+		timer.destroy();
+	}
+
+	@Test
+	void completesOrdersWithIdenticalDrinksTogether() throws Exception {
+
+		var first = new Order().add(latte);
+		var second = new Order().add(latte);
+
+		batcher.submit(first);
+		batcher.submit(second);
+
+		assertThat(completions.poll(2, TimeUnit.SECONDS)).containsExactlyInAnyOrder(first, second);
+		assertThat(completions.poll(200, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	void completesOrderOnlyOnceAllOfItsBatchesAreFinished() throws Exception {
+
+		var mixed = new Order().add(latte).add(espresso);
+		var lattes = new Order().add(latte).add(latte);
+
+		batcher.submit(mixed);
+		batcher.submit(lattes);
+
+		var completed = List.of(completions.poll(2, TimeUnit.SECONDS), completions.poll(2, TimeUnit.SECONDS));
+
+		assertThat(completed).containsExactly(List.of(lattes), List.of(mixed));
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springsource.restbucks.engine.EngineTestUtils.MutableClock;
+import org.springsource.restbucks.engine.Stations.Assignment;
+
+/**
+ * Unit tests for {@link Stations}.
+ *
+ * @author Oliver Drotbohm
+ */
+class StationsUnitTest {
+
+	static final Instant NOW = Instant.parse("2022-01-01T08:00:00Z");
+	static final Duration PREPARATION = Duration.ofMillis(100);
+
+	EngineTimer timer;
+	EngineExecutor executor;
+	Stations stations;
+
+	@BeforeEach
+	void setUp() {
+
+		var settings = EngineTestUtils.settings(PREPARATION, 2);
+
+		this.timer = new EngineTimer(settings);
+		this.executor = EngineTestUtils.executor(settings, timer);
+		this.stations = new Stations(settings, timer, executor, Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+
+		executor.destroy();
+		timer.destroy();
+	}
+
+	@Test
+	void predictsReadyTimesBasedOnAvailableStations() throws Exception {
+
+		var prepared = new CountDownLatch(3);
+
+		assertThat(stations.submit(PREPARATION, prepared::countDown).getReadyAt()).isEqualTo(NOW.plus(PREPARATION));
+		assertThat(stations.submit(PREPARATION, prepared::countDown).getReadyAt()).isEqualTo(NOW.plus(PREPARATION));
+		assertThat(stations.submit(PREPARATION, prepared::countDown).getReadyAt())
+				.isEqualTo(NOW.plus(PREPARATION.multipliedBy(2)));
+		assertThat(stations.getQueued()).isEqualTo(1);
+
+		assertThat(prepared.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(stations.getQueued()).isZero();
+	}
+
+	@Test
+	void assignsPreparationToStationAvailableFirst() {
+
+		stations.submit(PREPARATION.multipliedBy(10), () -> {});
+		stations.submit(PREPARATION, () -> {});
+
+		assertThat(stations.submit(PREPARATION, () -> {}))
+				.isEqualTo(new Assignment(1, NOW.plus(PREPARATION.multipliedBy(2))));
+	}
+
+	@Test
+	void reportsNewAssignmentOfStolenPreparation() throws Exception {
+
+		var clock = new MutableClock(NOW);
+		var stations = new Stations(EngineTestUtils.settings(PREPARATION, 2), timer, executor, clock);
+		var reassignments = new LinkedBlockingQueue<Assignment>();
+
+		stations.submit(PREPARATION.multipliedBy(20), () -> {});
+
+		// Station 0 is predicted to be available now, so the next preparation is queued there
+		clock.advance(PREPARATION.multipliedBy(30));
+
+		assertThat(stations.submit(PREPARATION, reassignments::add, () -> {}).getStation()).isZero();
+
+		// Station 1 finishes this one long before station 0 and steals the queued preparation
+		stations.submit(PREPARATION, () -> {});
+
+		assertThat(reassignments.poll(2, TimeUnit.SECONDS))
+				.isEqualTo(new Assignment(1, clock.instant().plus(PREPARATION)));
+	}
+}
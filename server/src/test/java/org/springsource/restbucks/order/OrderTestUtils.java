@@ -48,10 +48,11 @@ public class OrderTestUtils {
 		return createOrder().markPaid();
 	}
 
-	public static Order createPreparedOrder() {
+	public static Order createOrderInPreparation() {
+		return createPaidOrder().markInPreparation();
+	}
 
-		return createPaidOrder()
-				.markInPreparation()
-				.markPrepared();
+	public static Order createPreparedOrder() {
+		return createOrderInPreparation().markPrepared();
 	}
 }
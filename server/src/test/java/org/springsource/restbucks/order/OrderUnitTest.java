@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springsource.restbucks.core.Currencies.*;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+import org.springsource.restbucks.drinks.Drink;
+
+/**
+ * Unit tests for {@link Order}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrderUnitTest {
+
+	static final Drink TEA = new Drink("English breakfast", Milk.WHOLE, Size.LARGE, Money.of(2.70, EURO));
+	static final Drink LATTE = new Drink("Latte", Milk.SEMI, Size.SMALL, Money.of(3.25, EURO));
+
+	@Test
+	void newOrderIsFree() {
+		assertThat(new Order().getPrice()).isEqualTo(Money.of(0, EURO));
+	}
+
+	@Test
+	void maintainsTotalWhenAddingDrinks() {
+
+		var order = new Order().add(TEA).add(LATTE).add(TEA);
+
+		assertThat(order.getLineItems()).hasSize(2);
+		assertThat(order.getPrice()).isEqualTo(Money.of(8.65, EURO));
+	}
+
+	@Test
+	void calculatesTotalForInitialLineItems() {
+
+		var tea = new LineItem(TEA).increaseAmount();
+		var order = new Order(tea, new LineItem(LATTE));
+
+		assertThat(order.getPrice()).isEqualTo(Money.of(8.65, EURO));
+	}
+
+	@Test
+	void rejectsDrinkInDifferentCurrency() {
+
+		var order = new Order().add(TEA);
+		var drink = new Drink("Flat white", Milk.WHOLE, Size.SMALL, Money.of(3.00, "USD"));
+
+		assertThatIllegalArgumentException().isThrownBy(() -> order.add(drink));
+	}
+
+	@Test
+	void leavesOrderUnchangedIfDrinkInDifferentCurrencyIsRejected() {
+
+		var order = new Order().add(TEA);
+		var drink = new Drink("Flat white", Milk.WHOLE, Size.SMALL, Money.of(3.00, "USD"));
+
+		assertThatIllegalArgumentException().isThrownBy(() -> order.add(drink));
+
+		assertThat(order.getLineItems()).hasSize(1).allSatisfy(it -> assertThat(it.getQuantity()).isOne());
+		assertThat(order.getPrice()).isEqualTo(Money.of(2.70, EURO));
+	}
+
+	@Test
+	void rejectsDrinkInDifferentCurrencyForEmptyOrder() {
+
+		var order = new Order();
+		var drink = new Drink("Flat white", Milk.WHOLE, Size.SMALL, Money.of(3.00, "USD"));
+
+		assertThatIllegalArgumentException().isThrownBy(() -> order.add(drink));
+
+		assertThat(order.getLineItems()).isEmpty();
+		assertThat(order.getPrice()).isEqualTo(Money.of(0, EURO));
+	}
+}
@@ -19,9 +19,14 @@ import static org.springsource.restbucks.order.OrderTestUtils.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.springsource.restbucks.order.Order.Status.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springsource.restbucks.AbstractIntegrationTest;
+import org.springsource.restbucks.order.Order.Status;
 
 /**
  * Integration tests for Spring Data based {@link Orders}.
@@ -55,17 +60,68 @@ class OrdersIntegrationTest extends AbstractIntegrationTest {
 	@Test
 	void findsOrderByStatus() {
 
-		int paidBefore = repository.findByStatus(PAID).size();
-		int paymentExpectedBefore = repository.findByStatus(PAYMENT_EXPECTED).size();
+		long paidBefore = countByStatus(PAID);
+		long paymentExpectedBefore = countByStatus(PAYMENT_EXPECTED);
 
 		Order order = repository.save(createOrder());
-		assertThat(repository.findByStatus(PAYMENT_EXPECTED)).hasSize(paymentExpectedBefore + 1);
-		assertThat(repository.findByStatus(PAID)).hasSize(paidBefore);
+		assertThat(countByStatus(PAYMENT_EXPECTED)).isEqualTo(paymentExpectedBefore + 1);
+		assertThat(countByStatus(PAID)).isEqualTo(paidBefore);
 
 		order.markPaid();
 		order = repository.save(order);
 
-		assertThat(repository.findByStatus(PAYMENT_EXPECTED)).hasSize(paymentExpectedBefore);
-		assertThat(repository.findByStatus(PAID)).hasSize(paidBefore + 1);
+		assertThat(countByStatus(PAYMENT_EXPECTED)).isEqualTo(paymentExpectedBefore);
+		assertThat(countByStatus(PAID)).isEqualTo(paidBefore + 1);
+	}
+
+	@Test
+	void pagesOrdersByStatus() {
+
+		repository.save(createOrder());
+		repository.save(createOrder());
+
+		var page = repository.findByStatus(PAYMENT_EXPECTED, PageRequest.of(0, 1));
+
+		assertThat(page.getContent()).hasSize(1);
+		assertThat(page.hasNext()).isTrue();
+	}
+
+	@Test
+	void streamsOrdersByStatus() {
+
+		var order = repository.save(createOrder());
+
+		try (var stream = repository.streamByStatus(PAYMENT_EXPECTED)) {
+			assertThat(stream).contains(order).allMatch(it -> it.getStatus() == PAYMENT_EXPECTED);
+		}
+	}
+
+	@Test
+	void iteratesOrdersByPosition() {
+
+		var first = repository.save(createOrder());
+		var second = repository.save(createOrder());
+
+		var result = new ArrayList<Order>();
+		OrderPosition position = null;
+		List<Order> page;
+
+		do {
+
+			page = repository.findAfter(position, List.of(PAYMENT_EXPECTED), 1);
+			result.addAll(page);
+			position = page.isEmpty() ? position : OrderPosition.of(page.get(0));
+
+		} while (!page.isEmpty());
+
+		assertThat(result).doesNotHaveDuplicates();
+		assertThat(result).containsSubsequence(first, second);
+		assertThat(result).allMatch(it -> it.getStatus() == PAYMENT_EXPECTED);
+		assertThat(repository.findAfter(OrderPosition.of(second), List.of(PAYMENT_EXPECTED), 10))
+				.doesNotContain(first, second);
+	}
+
+	private long countByStatus(Status status) {
+		return repository.findByStatus(status, PageRequest.of(0, 1)).getTotalElements();
 	}
 }
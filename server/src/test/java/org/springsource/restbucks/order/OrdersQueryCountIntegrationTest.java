@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springsource.restbucks.AbstractIntegrationTest;
+import org.springsource.restbucks.order.Order.Status;
+
+/**
+ * Integration tests verifying the number of SQL statements issued to load {@link Order}s with their
+ * {@link LineItem}s.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrdersQueryCountIntegrationTest extends AbstractIntegrationTest {
+
+	@Autowired Orders orders;
+	@Autowired EntityManager em;
+
+	Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+
+		IntStream.range(0, 100).forEach(__ -> orders.save(OrderTestUtils.createOrder()));
+
+		em.flush();
+		em.clear();
+
+		this.statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		this.statistics.setStatisticsEnabled(true);
+		this.statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		statistics.setStatisticsEnabled(false);
+	}
+
+	@Test
+	void loadsPageOfOrdersWithLineItemsInTwoQueries() {
+
+		var result = orders.findAfter(null, List.of(), 100);
+
+		result.forEach(Order::getPrice);
+
+		assertThat(result).hasSize(100);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void loadsOffsetPageOfOrdersWithLineItemsInTwoQueriesPlusCount() {
+
+		var result = orders.findByStatus(Status.PAYMENT_EXPECTED, PageRequest.of(0, 100));
+
+		result.forEach(Order::getPrice);
+
+		assertThat(result.getContent()).hasSize(100);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+	}
+
+	@Test
+	void loadsSingleOrderWithLineItemsInOneQuery() {
+
+		var id = orders.findAfter(null, List.of(), 1).get(0).getId();
+
+		em.clear();
+		statistics.clear();
+
+		assertThat(orders.findById(id)).hasValueSatisfying(it -> {
+			assertThat(it.getLineItems()).isNotEmpty();
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		});
+	}
+}
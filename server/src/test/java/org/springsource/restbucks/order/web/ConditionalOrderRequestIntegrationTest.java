@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springsource.restbucks.AbstractWebIntegrationTest;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Integration tests for conditional requests to {@link org.springsource.restbucks.order.Order} resources.
+ *
+ * @author Oliver Drotbohm
+ */
+class ConditionalOrderRequestIntegrationTest extends AbstractWebIntegrationTest {
+
+	@Autowired Orders orders;
+
+	@Test
+	void answersConditionalRequestFromVersionLookup() throws Exception {
+
+		var order = orders.findByStatus(Status.PAYMENT_EXPECTED, PageRequest.of(0, 1)).getContent().get(0);
+		var uri = "/orders/" + order.getId().getId();
+
+		assertThat(orders.findVersionById(order.getId())) //
+				.hasValueSatisfying(it -> assertThat(it.getVersion()).isEqualTo(order.getVersion()));
+
+		var eTag = mvc.perform(get(uri).accept(MediaTypes.HAL_JSON)) //
+				.andExpect(status().isOk()) //
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(eTag).isEqualTo(ConditionalOrderRequestInterceptor.toETag(order.getVersion()));
+
+		var result = mvc.perform(get(uri).accept(MediaTypes.HAL_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag)) //
+				.andExpect(status().isNotModified()) //
+				.andExpect(header().string(HttpHeaders.ETAG, eTag)) //
+				.andReturn();
+
+		assertThat(result.getResponse().getContentLength()).isZero();
+		assertThat(result.getResponse().getHeaders(HttpHeaders.ETAG)).hasSize(1);
+	}
+
+	@Test
+	void rendersFullResponseForStaleETag() throws Exception {
+
+		var order = orders.findByStatus(Status.PAYMENT_EXPECTED, PageRequest.of(0, 1)).getContent().get(0);
+		var uri = "/orders/" + order.getId().getId();
+
+		var eTag = ConditionalOrderRequestInterceptor.toETag(order.getVersion());
+
+		mvc.perform(get(uri).accept(MediaTypes.HAL_JSON).header(HttpHeaders.IF_NONE_MATCH, "\"-1\"")) //
+				.andExpect(status().isOk()) //
+				.andExpect(header().string(HttpHeaders.ETAG, eTag));
+	}
+}
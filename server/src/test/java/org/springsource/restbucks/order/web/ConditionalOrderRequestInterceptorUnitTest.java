@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+import org.springsource.restbucks.order.Orders;
+import org.springsource.restbucks.order.Orders.OrderVersion;
+
+/**
+ * Unit tests for {@link ConditionalOrderRequestInterceptor}.
+ *
+ * @author Oliver Drotbohm
+ */
+@ExtendWith(MockitoExtension.class)
+class ConditionalOrderRequestInterceptorUnitTest {
+
+	static final OrderIdentifier ID = OrderIdentifier.of(UUID.randomUUID());
+
+	@Mock Orders orders;
+
+	ConditionalOrderRequestInterceptor interceptor;
+	MockHttpServletResponse response;
+
+	@BeforeEach
+	void setUp() {
+
+		interceptor = new ConditionalOrderRequestInterceptor(orders);
+		response = new MockHttpServletResponse();
+	}
+
+	@Test
+	void answersMatchingETagWithNotModified() {
+
+		when(orders.findVersionById(ID)).thenReturn(Optional.of(() -> 2L));
+
+		assertThat(interceptor.preHandle(request("GET", "\"2\""), response, null)).isFalse();
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"2\"");
+	}
+
+	@Test
+	void considersWeakAndMultipleETags() {
+
+		when(orders.findVersionById(ID)).thenReturn(Optional.of(() -> 2L));
+
+		assertThat(interceptor.preHandle(request("HEAD", "\"1\", W/\"2\""), response, null)).isFalse();
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+	}
+
+	@Test
+	void handsStaleETagToHandler() {
+
+		when(orders.findVersionById(ID)).thenReturn(Optional.of(() -> 3L));
+
+		assertThat(interceptor.preHandle(request("GET", "\"2\""), response, null)).isTrue();
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+	}
+
+	@Test
+	void handsUnknownOrderToHandler() {
+
+		when(orders.findVersionById(ID)).thenReturn(Optional.<OrderVersion> empty());
+
+		assertThat(interceptor.preHandle(request("GET", "*"), response, null)).isTrue();
+	}
+
+	@Test
+	void doesNotLookUpVersionForUnconditionalOrModifyingRequests() {
+
+		assertThat(interceptor.preHandle(request("GET", null), response, null)).isTrue();
+		assertThat(interceptor.preHandle(request("PUT", "\"2\""), response, null)).isTrue();
+
+		verifyNoInteractions(orders);
+	}
+
+	private static MockHttpServletRequest request(String method, String ifNoneMatch) {
+
+		var request = new MockHttpServletRequest(method, "/orders/" + ID.getId());
+		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", ID.getId().toString()));
+
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+
+		return request;
+	}
+}
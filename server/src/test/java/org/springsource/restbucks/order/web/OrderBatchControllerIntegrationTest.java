@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springsource.restbucks.AbstractWebIntegrationTest;
+import org.springsource.restbucks.drinks.Drinks;
+import org.springsource.restbucks.order.Location;
+import org.springsource.restbucks.order.Orders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for {@link OrderBatchController}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrderBatchControllerIntegrationTest extends AbstractWebIntegrationTest {
+
+	@Autowired Orders orders;
+	@Autowired Drinks drinks;
+
+	ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void placesValidOrdersAndReportsInvalidOnes() throws Exception {
+
+		var drink = "http://localhost/drinks/" + drinks.findByName("Java Chip").getId().getId();
+		var valid = Map.of("location", Location.TAKE_AWAY, "drinks", List.of(drink));
+		var invalid = Map.of("drinks", List.of(drink));
+
+		var before = orders.count();
+
+		mvc.perform(post("/orders/batch") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content(mapper.writeValueAsString(List.of(valid, invalid, valid)))) //
+				.andExpect(status().isMultiStatus()) //
+				.andExpect(jsonPath("$.results[0].status").value(201)) //
+				.andExpect(jsonPath("$.results[0].location").exists()) //
+				.andExpect(jsonPath("$.results[1].status").value(400)) //
+				.andExpect(jsonPath("$.results[1].location").doesNotExist()) //
+				.andExpect(jsonPath("$.results[2].status").value(201));
+
+		assertThat(orders.count()).isEqualTo(before + 2);
+	}
+
+	@Test
+	void reportsItemWithUnknownOrInvalidDrinkIndividually() throws Exception {
+
+		var drink = "http://localhost/drinks/" + drinks.findByName("Java Chip").getId().getId();
+		var valid = Map.of("location", Location.TAKE_AWAY, "drinks", List.of(drink));
+		var unknown = Map.of("location", Location.TAKE_AWAY, "drinks", List.of(drink,
+				"http://localhost/drinks/" + UUID.randomUUID()));
+		var invalid = Map.of("location", Location.TAKE_AWAY, "drinks", List.of("http://localhost/orders/4711"));
+
+		var before = orders.count();
+
+		mvc.perform(post("/orders/batch") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content(mapper.writeValueAsString(List.of(valid, unknown, invalid, valid)))) //
+				.andExpect(status().isMultiStatus()) //
+				.andExpect(jsonPath("$.results[0].status").value(201)) //
+				.andExpect(jsonPath("$.results[1].status").value(400)) //
+				.andExpect(jsonPath("$.results[1].errors.message").exists()) //
+				.andExpect(jsonPath("$.results[2].status").value(400)) //
+				.andExpect(jsonPath("$.results[3].status").value(201));
+
+		assertThat(orders.count()).isEqualTo(before + 2);
+	}
+
+	@Test
+	void rejectsEmptyBatch() throws Exception {
+
+		mvc.perform(post("/orders/batch") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("[]")) //
+				.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springsource.restbucks.AbstractWebIntegrationTest;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.Orders;
+
+/**
+ * Integration tests for {@link OrderEventsController}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrderEventsControllerIntegrationTest extends AbstractWebIntegrationTest {
+
+	@Autowired Orders orders;
+
+	@Test
+	void streamsEventsForSingleOrderAsynchronously() throws Exception {
+
+		var order = orders.findByStatus(Status.PAYMENT_EXPECTED, PageRequest.of(0, 1)).getContent().get(0);
+
+		mvc.perform(get("/orders/{id}/events", order.getId().getId()).accept(MediaType.TEXT_EVENT_STREAM)) //
+				.andExpect(status().isOk()) //
+				.andExpect(request().asyncStarted());
+	}
+
+	@Test
+	void streamsEventsForAllOrdersAsynchronously() throws Exception {
+
+		mvc.perform(get("/orders/events").accept(MediaType.TEXT_EVENT_STREAM)) //
+				.andExpect(status().isOk()) //
+				.andExpect(request().asyncStarted());
+	}
+
+	@Test
+	void returnsNotFoundForUnknownOrder() throws Exception {
+
+		mvc.perform(get("/orders/{id}/events", "unknown").accept(MediaType.TEXT_EVENT_STREAM)) //
+				.andExpect(status().isNotFound());
+	}
+}
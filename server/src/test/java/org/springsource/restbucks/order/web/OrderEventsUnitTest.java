@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.OrderStatusChanged;
+import org.springsource.restbucks.order.OrderTestUtils;
+
+/**
+ * Unit tests for {@link OrderEvents}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrderEventsUnitTest {
+
+	OrderEvents events;
+
+	@BeforeEach
+	void setUp() {
+		events = new OrderEvents(new OrderEventsSettings(Duration.ofMinutes(1)), Runnable::run);
+	}
+
+	@Test
+	void keepsSubscriptionUntilOrderIsTaken() {
+
+		var order = OrderTestUtils.createExistingOrderWithStatus(Status.PAID);
+
+		events.subscribe(order);
+		events.subscribeAll();
+
+		assertThat(events.getSubscriptionCount()).isEqualTo(2);
+
+		events.on(new OrderStatusChanged(order.getId(), Status.READY));
+
+		assertThat(events.getSubscriptionCount()).isEqualTo(2);
+
+		events.on(new OrderStatusChanged(order.getId(), Status.TAKEN));
+
+		assertThat(events.getSubscriptionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotKeepSubscriptionForTakenOrder() {
+
+		events.subscribe(OrderTestUtils.createExistingOrderWithStatus(Status.TAKEN));
+
+		assertThat(events.getSubscriptionCount()).isZero();
+	}
+
+	@Test
+	void ignoresEventsForOrdersWithoutSubscriptions() {
+
+		var order = OrderTestUtils.createExistingOrderWithStatus(Status.PAID);
+
+		assertThatNoException().isThrownBy(() -> events.on(new OrderStatusChanged(order.getId(), Status.READY)));
+	}
+
+	@Test
+	void dropsSubscriptionFailingToReceiveEventsWithoutAffectingOthers() {
+
+		var order = OrderTestUtils.createExistingOrderWithStatus(Status.PAID);
+
+		events.subscribe(order).complete(); // client gone
+		events.subscribe(order);
+		events.subscribeAll();
+
+		events.on(new OrderStatusChanged(order.getId(), Status.READY));
+
+		assertThat(events.getSubscriptionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void dropsSubscriptionFallingBehind() {
+
+		List<Runnable> tasks = new ArrayList<>();
+		var lagging = new OrderEvents(new OrderEventsSettings(Duration.ofMinutes(1)), tasks::add);
+		var order = OrderTestUtils.createExistingOrderWithStatus(Status.PAID);
+
+		lagging.subscribeAll();
+
+		for (int i = 0; i < OrderEvents.MAX_PENDING_EVENTS; i++) {
+			lagging.on(new OrderStatusChanged(order.getId(), Status.PREPARING));
+		}
+
+		assertThat(lagging.getSubscriptionCount()).isEqualTo(1);
+		assertThat(tasks).hasSize(1);
+
+		lagging.on(new OrderStatusChanged(order.getId(), Status.READY));
+
+		assertThat(lagging.getSubscriptionCount()).isZero();
+	}
+}
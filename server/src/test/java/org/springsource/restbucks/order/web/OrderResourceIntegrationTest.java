@@ -15,14 +15,18 @@
  */
 package org.springsource.restbucks.order.web;
 
-import static org.hamcrest.CoreMatchers.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.MediaTypes;
 import org.springsource.restbucks.AbstractWebIntegrationTest;
 
+import com.jayway.jsonpath.JsonPath;
+
 /**
  * Integration test for REST resources exposed by Spring Data REST.
  *
@@ -38,4 +42,41 @@ class OrderResourceIntegrationTest extends AbstractWebIntegrationTest {
 				.andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON)) //
 				.andExpect(jsonPath("$._links.restbucks:orders.href", notNullValue()));
 	}
+
+	@Test
+	void pagesThroughOrdersUsingContinuationTokens() throws Exception {
+
+		var response = mvc.perform(get("/orders").param("size", "1")) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$._embedded.restbucks:orders", hasSize(1))) //
+				.andExpect(linkWithRelIsPresent(IanaLinkRelations.NEXT)) //
+				.andReturn().getResponse();
+
+		var next = getDiscovererFor(response).findRequiredLinkWithRel(IanaLinkRelations.NEXT,
+				response.getContentAsString());
+
+		assertThat(next.getHref()).contains("continue=");
+
+		var first = JsonPath.<String> read(response.getContentAsString(),
+				"$._embedded.restbucks:orders[0]._links.self.href");
+
+		mvc.perform(get(next.expand().getHref())) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$._embedded.restbucks:orders[0]._links.self.href", not(first)));
+	}
+
+	@Test
+	void rejectsInvalidContinuationToken() throws Exception {
+
+		mvc.perform(get("/orders").param("continue", "invalid")) //
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void fallsBackToOffsetPaginationIfPageIsRequested() throws Exception {
+
+		mvc.perform(get("/orders").param("page", "0")) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$.page.number", is(0)));
+	}
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.method.HandlerMethod;
+import org.springsource.restbucks.AbstractWebIntegrationTest;
+import org.springsource.restbucks.order.Order.Status;
+import org.springsource.restbucks.order.Orders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for {@link PrecompiledOrderController} and the {@link PrecompiledOrderModel}.
+ *
+ * @author Oliver Drotbohm
+ */
+@TestPropertySource(properties = "restbucks.json.precompiled=true")
+class PrecompiledOrderControllerIntegrationTest extends AbstractWebIntegrationTest {
+
+	@Autowired Orders orders;
+
+	ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void rendersSameRepresentationAsSpringDataRest() throws Exception {
+
+		var order = orders.findByStatus(Status.PAYMENT_EXPECTED, PageRequest.of(0, 1)).getContent().get(0);
+		var uri = "/orders/" + order.getId().getId();
+
+		var precompiled = mvc.perform(get(uri).accept(MediaTypes.HAL_JSON)) //
+				.andExpect(status().isOk()) //
+				.andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON)) //
+				.andExpect(linkWithRelIsPresent(IanaLinkRelations.SELF)) //
+				.andReturn();
+
+		assertThat(precompiled.getHandler()).isInstanceOfSatisfying(HandlerMethod.class,
+				it -> assertThat(it.getBeanType()).isEqualTo(PrecompiledOrderController.class));
+
+		var reflective = mvc.perform(get(uri).accept(MediaType.APPLICATION_JSON)) //
+				.andExpect(status().isOk()) //
+				.andReturn();
+
+		assertThat(reflective.getHandler()).isInstanceOfSatisfying(HandlerMethod.class,
+				it -> assertThat(it.getBeanType()).isNotEqualTo(PrecompiledOrderController.class));
+
+		assertThat(mapper.readTree(precompiled.getResponse().getContentAsString()))
+				.isEqualTo(mapper.readTree(reflective.getResponse().getContentAsString()));
+		assertThat(precompiled.getResponse().getHeader(HttpHeaders.ETAG))
+				.isEqualTo(reflective.getResponse().getHeader(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void returnsNotModifiedForMatchingETag() throws Exception {
+
+		var order = orders.findByStatus(Status.PAYMENT_EXPECTED, PageRequest.of(0, 1)).getContent().get(0);
+		var uri = "/orders/" + order.getId().getId();
+
+		var eTag = mvc.perform(get(uri).accept(MediaTypes.HAL_JSON)) //
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(get(uri).accept(MediaTypes.HAL_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag)) //
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void returnsNotFoundForUnknownOrder() throws Exception {
+
+		mvc.perform(get("/orders/unknown").accept(MediaTypes.HAL_JSON)) //
+				.andExpect(status().isNotFound());
+	}
+}
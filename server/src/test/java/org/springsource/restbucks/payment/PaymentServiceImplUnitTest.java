@@ -18,50 +18,69 @@ package org.springsource.restbucks.payment;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springsource.restbucks.order.Order;
 import org.springsource.restbucks.order.OrderTestUtils;
 import org.springsource.restbucks.order.Orders;
+import org.springsource.restbucks.payment.PaymentGateway.Authorization;
 
 /**
  * Unit tests for {@link PaymentServiceImpl}.
  *
  * @author Oliver Gierke
+ * @author Oliver Drotbohm
  */
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceImplUnitTest {
 
 	static final CreditCardNumber NUMBER = CreditCardNumber.of("1234123412341234");
+	static final PaymentSettings SETTINGS = new PaymentSettings(Duration.ofMillis(100), 1, Duration.ZERO);
 
 	PaymentService paymentService;
 
 	@Mock Payments paymentRepository;
 	@Mock CreditCards creditCardRepository;
 	@Mock Orders orderRepository;
+	@Mock PaymentGateway gateway;
+	@Mock PlatformTransactionManager transactionManager;
 
 	@BeforeEach
 	void setUp() {
-		this.paymentService = new PaymentServiceImpl(creditCardRepository, paymentRepository, orderRepository);
+		this.paymentService = new PaymentServiceImpl(creditCardRepository, paymentRepository, orderRepository, gateway,
+				SETTINGS, transactionManager);
 	}
 
 	@Test
 	void rejectsNullPaymentRepository() {
 
 		assertThatExceptionOfType(IllegalArgumentException.class) //
-				.isThrownBy(() -> new PaymentServiceImpl(creditCardRepository, null, orderRepository));
+				.isThrownBy(() -> new PaymentServiceImpl(creditCardRepository, null, orderRepository, gateway,
+						SETTINGS, transactionManager));
 	}
 
 	@Test
 	void rejectsNullCreditCardRepository() {
 
 		assertThatExceptionOfType(IllegalArgumentException.class) //
-				.isThrownBy(() -> new PaymentServiceImpl(null, paymentRepository, orderRepository));
+				.isThrownBy(() -> new PaymentServiceImpl(null, paymentRepository, orderRepository, gateway,
+						SETTINGS, transactionManager));
+	}
+
+	@Test
+	void rejectsNonPositiveNumberOfConcurrentAuthorizations() {
+
+		assertThatExceptionOfType(IllegalArgumentException.class) //
+				.isThrownBy(() -> new PaymentSettings(Duration.ofMillis(100), 0, Duration.ZERO));
 	}
 
 	@Test
@@ -84,4 +103,131 @@ class PaymentServiceImplUnitTest {
 				.withMessageContaining("credit card") //
 				.withMessageContaining(NUMBER.getNumber());
 	}
+
+	@Test
+	void rejectsNullPaymentGateway() {
+
+		assertThatExceptionOfType(IllegalArgumentException.class) //
+				.isThrownBy(() -> new PaymentServiceImpl(creditCardRepository, paymentRepository, orderRepository, null,
+						SETTINGS, transactionManager));
+	}
+
+	@Test
+	void marksOrderPaidIfAuthorized() {
+
+		var order = new Order();
+		var creditCard = CreditCardsIntegrationTest.createCreditCard();
+
+		when(creditCardRepository.findByNumber(NUMBER)).thenReturn(Optional.of(creditCard));
+		when(gateway.authorize(creditCard.getNumber(), order.getPrice()))
+				.thenReturn(CompletableFuture.completedFuture(Authorization.approved("reference")));
+		when(paymentRepository.save(any())).thenAnswer(it -> it.getArgument(0));
+
+		var payment = paymentService.pay(order, NUMBER);
+
+		assertThat(payment.getCreditCard()).isEqualTo(creditCard);
+		assertThat(payment.getAuthorizationReference()).isEqualTo("reference");
+		assertThat(payment.isPending()).isFalse();
+		verify(orderRepository).markPaid(order);
+	}
+
+	@Test
+	void rejectsPaymentDeclinedByGateway() {
+
+		var order = new Order();
+		var creditCard = CreditCardsIntegrationTest.createCreditCard();
+
+		when(creditCardRepository.findByNumber(NUMBER)).thenReturn(Optional.of(creditCard));
+		when(gateway.authorize(creditCard.getNumber(), order.getPrice()))
+				.thenReturn(CompletableFuture.completedFuture(Authorization.declined("Insufficient funds")));
+		when(paymentRepository.save(any())).thenAnswer(it -> it.getArgument(0));
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> paymentService.pay(order, NUMBER)) //
+				.withMessageContaining("Insufficient funds");
+
+		verify(orderRepository, never()).markPaid(any());
+		verify(paymentRepository).delete(any());
+	}
+
+	@Test
+	void cancelsAuthorizationIfPaymentCannotBeRecorded() {
+
+		var order = new Order();
+		var creditCard = CreditCardsIntegrationTest.createCreditCard();
+
+		when(creditCardRepository.findByNumber(NUMBER)).thenReturn(Optional.of(creditCard));
+		when(gateway.authorize(creditCard.getNumber(), order.getPrice()))
+				.thenReturn(CompletableFuture.completedFuture(Authorization.approved("reference")));
+		when(gateway.cancel("reference")).thenReturn(CompletableFuture.completedFuture(null));
+		when(paymentRepository.save(any())).thenAnswer(it -> it.getArgument(0));
+		when(orderRepository.markPaid(order)).thenThrow(new ObjectOptimisticLockingFailureException(Order.class, "id"));
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> paymentService.pay(order, NUMBER)) //
+				.withMessageContaining("authorization cancelled");
+
+		verify(gateway).cancel("reference");
+		verify(paymentRepository).delete(any());
+	}
+
+	@Test
+	void cancelsAuthorizationApprovedAfterTimeout() {
+
+		var order = new Order();
+		var creditCard = CreditCardsIntegrationTest.createCreditCard();
+		var authorization = new CompletableFuture<Authorization>();
+
+		when(creditCardRepository.findByNumber(NUMBER)).thenReturn(Optional.of(creditCard));
+		when(gateway.authorize(creditCard.getNumber(), order.getPrice())).thenReturn(authorization);
+		when(gateway.cancel("reference")).thenReturn(CompletableFuture.completedFuture(null));
+		when(paymentRepository.save(any())).thenAnswer(it -> it.getArgument(0));
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> paymentService.pay(order, NUMBER)) //
+				.withMessageContaining("did not answer");
+
+		authorization.complete(Authorization.approved("reference"));
+
+		verify(gateway).cancel("reference");
+		verify(orderRepository, never()).markPaid(any());
+	}
+
+	@Test
+	void rejectsPaymentAlreadyInProgress() {
+
+		var order = new Order();
+		var creditCard = CreditCardsIntegrationTest.createCreditCard();
+
+		when(creditCardRepository.findByNumber(NUMBER)).thenReturn(Optional.of(creditCard));
+		when(paymentRepository.findByOrder(order.getId()))
+				.thenReturn(Optional.of(new CreditCardPayment(creditCard, order)));
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> paymentService.pay(order, NUMBER)) //
+				.withMessageContaining("in progress");
+
+		verify(gateway, never()).authorize(any(), any());
+	}
+
+	@Test
+	void rejectsPaymentIfGatewayDoesNotAnswerInTime() {
+
+		var order = new Order();
+		var creditCard = CreditCardsIntegrationTest.createCreditCard();
+
+		when(creditCardRepository.findByNumber(NUMBER)).thenReturn(Optional.of(creditCard));
+		when(gateway.authorize(creditCard.getNumber(), order.getPrice())).thenReturn(new CompletableFuture<>());
+		when(paymentRepository.save(any())).thenAnswer(it -> it.getArgument(0));
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> paymentService.pay(order, NUMBER)) //
+				.withMessageContaining("did not answer");
+
+		// The slot taken by the timed out authorization is available again
+		when(gateway.authorize(creditCard.getNumber(), order.getPrice()))
+				.thenReturn(CompletableFuture.completedFuture(Authorization.approved("reference")));
+
+		assertThatNoException().isThrownBy(() -> paymentService.pay(order, NUMBER));
+	}
 }
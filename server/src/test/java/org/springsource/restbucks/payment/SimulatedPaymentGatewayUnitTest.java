@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.payment;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SimulatedPaymentGateway}.
+ *
+ * @author Oliver Drotbohm
+ */
+class SimulatedPaymentGatewayUnitTest {
+
+	static final CreditCardNumber NUMBER = CreditCardNumber.of("1234123412341234");
+
+	@Test
+	void rejectsNegativeLatency() {
+
+		assertThatExceptionOfType(IllegalArgumentException.class) //
+				.isThrownBy(() -> new SimulatedPaymentGateway(Duration.ofMillis(-1)));
+	}
+
+	@Test
+	void approvesPaymentAfterLatency() {
+
+		var gateway = new SimulatedPaymentGateway(Duration.ofMillis(200));
+		var authorization = gateway.authorize(NUMBER, Money.of(2.5, "EUR"));
+
+		assertThat(authorization).isNotDone();
+		assertThat(authorization).succeedsWithin(Duration.ofSeconds(2)).satisfies(it -> {
+			assertThat(it.isApproved()).isTrue();
+			assertThat(it.getReference()).isNotBlank();
+		});
+	}
+}
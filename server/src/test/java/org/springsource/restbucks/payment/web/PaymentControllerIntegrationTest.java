@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.transaction.annotation.Transactional;
 import org.springsource.restbucks.order.Order.Status;
@@ -43,7 +44,7 @@ class PaymentControllerIntegrationTest {
 	void processesPayment() throws Exception {
 
 		// Given
-		var order = orders.findByStatus(Status.PAYMENT_EXPECTED).get(0);
+		var order = orders.findByStatus(Status.PAYMENT_EXPECTED, PageRequest.of(0, 1)).getContent().get(0);
 
 		// When
 		var model = new PaymentForm(CreditCardNumber.of("1234123412341234"));
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.payment.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.AffordanceModel;
+import org.springframework.hateoas.AffordanceModel.PropertyMetadata;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.server.EntityLinks;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springsource.restbucks.order.OrderTestUtils;
+
+/**
+ * Unit tests for {@link PaymentLinks}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PaymentLinksUnitTest {
+
+	static final Link ORDER_LINK = Link.of("http://localhost/orders/4711{?projection}", "order");
+
+	PaymentLinks links;
+
+	@BeforeEach
+	void setUp() {
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+		links = new PaymentLinks(mock(EntityLinks.class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void derivesPaymentAndReceiptLinksFromOrderLink() {
+
+		assertThat(links.getPaymentLink(ORDER_LINK))
+				.isEqualTo(Link.of("http://localhost/orders/4711/payment", PaymentLinks.PAYMENT_REL));
+		assertThat(links.getReceiptLink(ORDER_LINK))
+				.isEqualTo(Link.of("http://localhost/orders/4711/receipt", PaymentLinks.RECEIPT_REL));
+	}
+
+	@Test
+	void buildsPaymentAffordanceLikeTheOneDerivedFromTheHandlerMethod() {
+
+		var order = OrderTestUtils.createExistingOrder();
+
+		AffordanceModel expected = afford(methodOn(PaymentController.class).submitPayment(order, null))
+				.getAffordanceModel(MediaTypes.HAL_FORMS_JSON);
+		AffordanceModel actual = links.getPaymentAffordance(ORDER_LINK)
+				.getAffordanceModel(MediaTypes.HAL_FORMS_JSON);
+
+		assertThat(actual.getName()).isEqualTo(expected.getName()).isEqualTo(PaymentLinks.SUBMIT_PAYMENT);
+		assertThat(actual.getHttpMethod()).isEqualTo(expected.getHttpMethod()).isEqualTo(HttpMethod.PUT);
+		assertThat(actual.getLink().getHref()).isEqualTo("http://localhost/orders/4711/payment");
+		assertThat(actual.getInput().stream().map(PropertyMetadata::getName))
+				.containsExactlyElementsOf(expected.getInput().stream().map(PropertyMetadata::getName).toList());
+	}
+}
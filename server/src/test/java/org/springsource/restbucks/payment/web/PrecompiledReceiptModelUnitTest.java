@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springsource.restbucks.payment.web;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.jmolecules.ddd.types.Association;
+import org.jmolecules.jackson.JMoleculesModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule.HalHandlerInstantiator;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springsource.restbucks.JacksonTestUtils;
+import org.springsource.restbucks.order.Order.OrderIdentifier;
+import org.springsource.restbucks.payment.Payment.Receipt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Unit tests for {@link PrecompiledReceiptModel}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PrecompiledReceiptModelUnitTest {
+
+	ObjectMapper mapper = new ObjectMapper();
+
+	@BeforeEach
+	void setUp() {
+
+		mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		mapper.registerModule(new JavaTimeModule());
+		mapper.registerModule(new JMoleculesModule());
+		mapper.registerModule(new Jackson2HalModule());
+		mapper.registerModules(JacksonTestUtils.getModules(new PaymentConfiguration().getMixins()));
+		mapper.setHandlerInstantiator(new HalHandlerInstantiator(new DelegatingLinkRelationProvider(),
+				CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+	}
+
+	@Test
+	void rendersSameRepresentationAsReflectiveSerialization() throws Exception {
+
+		var receipt = new Receipt(LocalDateTime.of(2022, 3, 1, 12, 30),
+				Association.forId(OrderIdentifier.of(UUID.randomUUID())));
+		var model = EntityModel.of(receipt, Link.of("/orders/4711").withRel("order"), Link.of("/orders/4711/receipt"));
+
+		var precompiled = mapper.writeValueAsString(new PrecompiledReceiptModel(model));
+
+		assertThat(mapper.readTree(precompiled)).isEqualTo(mapper.readTree(mapper.writeValueAsString(model)));
+		assertThat(mapper.readTree(precompiled).has("order")).isFalse();
+	}
+}